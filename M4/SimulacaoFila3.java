@@ -3,17 +3,81 @@ import java.util.*;
 public class SimulacaoFila3 {
     
     
-    static class Evento {
-        double tempo; 
-        int tipo; // 1=chegada, 2=saida
+    // Agenda em heap binário sobre arrays primitivos: inserir e remover custam O(log n)
+    // e não alocam nada por evento. A chave é (tempo, ordem de inserção), então eventos
+    // no mesmo instante saem na ordem em que foram agendados, igual à lista ordenada antiga.
+    static class Agenda {
+        private double[] tempos = new double[16];
+        private long[] ordem = new long[16];
+        private int[] tipos = new int[16]; // 1=chegada, 2=saida
+        private int tamanho = 0;
+        private long proximaOrdem = 0;
         
-        Evento(double tempo, int tipo) {
-            this.tempo = tempo;
-            this.tipo = tipo;
+        // Resultado do último remove().
+        double tempo;
+        int tipo;
+        
+        boolean vazia() {
+            return tamanho == 0;
+        }
+        
+        void add(double tempo, int tipo) {
+            if (tamanho == tempos.length) {
+                tempos = Arrays.copyOf(tempos, tamanho * 2);
+                ordem = Arrays.copyOf(ordem, tamanho * 2);
+                tipos = Arrays.copyOf(tipos, tamanho * 2);
+            }
+            long seq = proximaOrdem++;
+            int i = tamanho++;
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (!antes(tempo, seq, tempos[pai], ordem[pai])) break;
+                move(pai, i);
+                i = pai;
+            }
+            tempos[i] = tempo;
+            ordem[i] = seq;
+            tipos[i] = tipo;
+        }
+        
+        void remove() {
+            tempo = tempos[0];
+            tipo = tipos[0];
+            int ultimo = --tamanho;
+            if (ultimo == 0) return;
+            
+            double t = tempos[ultimo];
+            long seq = ordem[ultimo];
+            int tp = tipos[ultimo];
+            int i = 0;
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= ultimo) break;
+                if (filho + 1 < ultimo && antes(tempos[filho + 1], ordem[filho + 1], tempos[filho], ordem[filho])) {
+                    filho++;
+                }
+                if (!antes(tempos[filho], ordem[filho], t, seq)) break;
+                move(filho, i);
+                i = filho;
+            }
+            tempos[i] = t;
+            ordem[i] = seq;
+            tipos[i] = tp;
+        }
+        
+        private static boolean antes(double t1, long s1, double t2, long s2) {
+            return t1 < t2 || (t1 == t2 && s1 < s2);
+        }
+        
+        private void move(int de, int para) {
+            tempos[para] = tempos[de];
+            ordem[para] = ordem[de];
+            tipos[para] = tipos[de];
         }
     }
     
-    private List<Evento> eventos = new ArrayList<>();
+    private Agenda eventos = new Agenda();
+    private long limiteEventos = 100000;
     
     private int capacidade;
     private int servidores;
@@ -44,6 +108,32 @@ public class SimulacaoFila3 {
         this.tempos = new double[capacidade + 1];
     }
     
+    // limiteEventos: quantos eventos processar (o padrão é 100000).
+    public SimulacaoFila3(int capacidade, int servidores, 
+                         double chegadaMin, double chegadaMax,
+                         double saidaMin, double saidaMax, 
+                         double tempoInicio, long limiteEventos) {
+        this(capacidade, servidores, chegadaMin, chegadaMax, saidaMin, saidaMax, tempoInicio);
+        this.limiteEventos = limiteEventos;
+    }
+    
+    // Semente e resultados, para as conferências (testes/ConfereLindley).
+    void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    double getTempo() {
+        return tempo;
+    }
+    
+    int getPerdas() {
+        return perdas;
+    }
+    
+    double[] getTempos() {
+        return tempos;
+    }
+    
     private double rand() {
         seed = (seed * 1103515245L + 12345L) & 0x7fffffffL;
         return (double)seed / 0x7fffffffL;
@@ -54,16 +144,7 @@ public class SimulacaoFila3 {
     }
     
     private void addEvento(double tempo, int tipo) {
-        Evento novo = new Evento(tempo, tipo);
-        int i = 0;
-        while (i < eventos.size() && eventos.get(i).tempo <= tempo) {
-            i++;
-        }
-        eventos.add(i, novo);
-    }
-    
-    private Evento proximoEvento() {
-        return eventos.isEmpty() ? null : eventos.remove(0);
+        eventos.add(tempo, tipo);
     }
     
     private void acumula(double novoTempo) {
@@ -72,8 +153,8 @@ public class SimulacaoFila3 {
         tempo = novoTempo;
     }
     
-    private void chegada(Evento e) {
-        acumula(e.tempo);
+    private void chegada(double t) {
+        acumula(t);
         
         if (clientes < capacidade) {
             clientes++;
@@ -87,8 +168,8 @@ public class SimulacaoFila3 {
         addEvento(tempo + entre(chegadaMin, chegadaMax), 1);
     }
     
-    private void saida(Evento e) {
-        acumula(e.tempo);
+    private void saida(double t) {
+        acumula(t);
         clientes--;
         
         if (clientes >= servidores) {
@@ -97,18 +178,18 @@ public class SimulacaoFila3 {
     }
     
     public void simular() {
-        int count = 100000;
+        long count = limiteEventos;
         
         // Primeira chegada
         addEvento(tempo + entre(chegadaMin, chegadaMax), 1);
         
-        while (count > 0 && !eventos.isEmpty()) {
-            Evento e = proximoEvento();
+        while (count > 0 && !eventos.vazia()) {
+            eventos.remove();
             
-            if (e.tipo == 1) {
-                chegada(e);
+            if (eventos.tipo == 1) {
+                chegada(eventos.tempo);
             } else {
-                saida(e);
+                saida(eventos.tempo);
             }
             count--;
         }
@@ -0,0 +1,163 @@
+// Mesma fila G/G/c/K do SimulacaoFila3, sem agenda de eventos: os clientes são processados
+// em ordem de chegada pela recursão de Kiefer-Wolfowitz (Lindley com c servidores).
+//
+// Numa fila FIFO o cliente que chega com n clientes no sistema começa o atendimento na
+// chegada se n < c, ou senão quando n-c+1 dos que estão à frente saírem. Como as saídas
+// de todos os que estão no sistema já são conhecidas, o início é a (n-c+1)-ésima menor
+// delas, e a saída do novo cliente é início + serviço. As saídas ficam em ordem num anel
+// de tamanho K ('partidas'); com c = 1 a nova saída é sempre a maior e a inserção é O(1).
+// Antes de cada chegada saem, em ordem, os clientes com saída até ela, acumulando o tempo
+// em cada estado como no SimulacaoFila3. A capacidade vem do mesmo anel: cheio, o
+// cliente é perdido.
+//
+// Os sorteios são os mesmos, na mesma quantidade (um por chegada, um por cliente aceito),
+// mas o serviço é sorteado na chegada e não no início do atendimento: com a mesma semente
+// a sequência de clientes é outra, com a mesma distribuição. limiteEventos conta chegadas
+// e saídas como no SimulacaoFila3, então o horizonte também é o mesmo.
+//
+// Não cumpre o objetivo com que foi escrito, ser uma ordem de grandeza mais rápido que o
+// SimulacaoFila3: no BenchSimulacaoFila3 (10M eventos) o ganho é de 1,4 a 1,9x. Sobram,
+// por evento, um sorteio do LCG serial (cerca de 6 ns com a divisão) e um desvio
+// imprevisível (a próxima saída vem antes ou depois da próxima chegada?). Sortear em lote,
+// com oito sequências saltadas do mesmo LCG, baixa o sorteio para uns 3,5 ns, o que ainda
+// fica longe de 10x. Também não reproduz o SimulacaoFila3 semente a semente: só a
+// distribuição do tempo em cada estado, as perdas e o tempo total, dentro das tolerâncias
+// de testes/ConfereLindley. Para reproduzir execuções do SimulacaoFila3, use o
+// SimulacaoFila3.
+public class SimulacaoLindley {
+
+    private long limiteEventos = 100000;
+
+    private int capacidade;
+    private int servidores;
+    private int perdas = 0;
+
+    private double tempo = 0;
+    private double[] tempos;
+
+    // Saídas dos clientes no sistema, em ordem, a partir de 'inicio' (anel).
+    private double[] partidas;
+    private int inicio = 0;
+    private int clientes = 0;
+
+    private double chegadaMin, chegadaMax;
+    private double saidaMin, saidaMax;
+
+    private long seed = System.currentTimeMillis();
+
+    public SimulacaoLindley(int capacidade, int servidores,
+                            double chegadaMin, double chegadaMax,
+                            double saidaMin, double saidaMax,
+                            double tempoInicio) {
+        this.capacidade = capacidade;
+        this.servidores = servidores;
+        this.chegadaMin = chegadaMin;
+        this.chegadaMax = chegadaMax;
+        this.saidaMin = saidaMin;
+        this.saidaMax = saidaMax;
+        this.tempo = tempoInicio;
+        this.tempos = new double[capacidade + 1];
+        this.partidas = new double[capacidade];
+    }
+
+    // limiteEventos: quantos eventos (chegadas + saídas) processar (o padrão é 100000).
+    public SimulacaoLindley(int capacidade, int servidores,
+                            double chegadaMin, double chegadaMax,
+                            double saidaMin, double saidaMax,
+                            double tempoInicio, long limiteEventos) {
+        this(capacidade, servidores, chegadaMin, chegadaMax, saidaMin, saidaMax, tempoInicio);
+        this.limiteEventos = limiteEventos;
+    }
+
+    // Semente e resultados, para as conferências (testes/ConfereLindley).
+    void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    double getTempo() {
+        return tempo;
+    }
+
+    int getPerdas() {
+        return perdas;
+    }
+
+    double[] getTempos() {
+        return tempos;
+    }
+
+    private double rand() {
+        seed = (seed * 1103515245L + 12345L) & 0x7fffffffL;
+        return (double)seed / 0x7fffffffL;
+    }
+
+    private double entre(double min, double max) {
+        return min + rand() * (max - min);
+    }
+
+    // Posição do i-ésimo cliente (em ordem de saída) no anel.
+    private int posicao(int i) {
+        int p = inicio + i;
+        return p < capacidade ? p : p - capacidade;
+    }
+
+    // Insere a saída mantendo o anel em ordem; como ela não é anterior ao início do
+    // atendimento, só passa por cima das saídas dos que estão em serviço.
+    private void insere(double partida) {
+        int j = clientes;
+        while (j > 0 && partidas[posicao(j - 1)] > partida) {
+            partidas[posicao(j)] = partidas[posicao(j - 1)];
+            j--;
+        }
+        partidas[posicao(j)] = partida;
+        clientes++;
+    }
+
+    public void simular() {
+        long count = limiteEventos;
+        double ultimo = tempo;
+
+        // Primeira chegada
+        double chegada = tempo + entre(chegadaMin, chegadaMax);
+
+        laco:
+        while (count > 0) {
+            // Saídas até a chegada (no empate, a saída primeiro)
+            while (clientes > 0 && partidas[inicio] <= chegada) {
+                double t = partidas[inicio];
+                tempos[clientes] += t - ultimo;
+                ultimo = t;
+                inicio = inicio + 1 < capacidade ? inicio + 1 : 0;
+                clientes--;
+                if (--count == 0) break laco;
+            }
+
+            tempos[clientes] += chegada - ultimo;
+            ultimo = chegada;
+            if (clientes < capacidade) {
+                double atendimento = clientes < servidores ? chegada : partidas[posicao(clientes - servidores)];
+                insere(atendimento + entre(saidaMin, saidaMax));
+            } else {
+                perdas++;
+            }
+            chegada += entre(chegadaMin, chegadaMax);
+            count--;
+        }
+        tempo = ultimo;
+
+        System.out.println("Tempo total: " + String.format("%.2f", tempo));
+        System.out.println("Perdas: " + perdas);
+
+        for (int i = 0; i <= capacidade; i++) {
+            double p = (tempos[i] / tempo) * 100;
+            System.out.println(i + ": " + String.format("%.1f", tempos[i]) +
+                             " (" + String.format("%.1f", p) + "%)");
+        }
+    }
+
+    public static void main(String[] args) {
+        // capacidade, servidores, chegadaMin, chegadaMax, saidaMin, saidaMax, inicio
+        SimulacaoLindley sim = new SimulacaoLindley(5, 1, 2.0, 5.0, 3.0, 5.0, 2.0);
+        sim.simular();
+    }
+}
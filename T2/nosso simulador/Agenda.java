@@ -0,0 +1,29 @@
+// Agenda de eventos (calendário) do simulador.
+// Um evento é só um instante e um int empacotado pelo simulador (tipo + fila),
+// então implementações podem guardar tudo em arrays primitivos sem alocar por evento.
+// Para trocar a estrutura (heap, calendar queue, ladder queue) basta implementar esta interface.
+public interface Agenda {
+
+    void agendar(double tempo, int evento);
+
+    boolean vazia();
+
+    int tamanho();
+
+    // Instante e evento do topo (o mais cedo), sem remover.
+    double proximoTempo();
+
+    int proximoEvento();
+
+    // Remove o topo.
+    void remove();
+
+    // i-ésimo elemento (0 <= i < tamanho()) na ordem interna, para o checkpoint: agendar os
+    // elementos de volta nessa ordem numa agenda vazia reconstrói a mesma agenda, com os
+    // mesmos desempates entre instantes iguais.
+    double tempo(int i);
+
+    int evento(int i);
+
+    void limpa();
+}
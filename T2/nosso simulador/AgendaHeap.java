@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+// Heap d-ário (d = 4) em arrays paralelos: tempos[] e eventos[].
+// Com d = 4 a árvore fica com metade da altura de um heap binário e os filhos de um nó
+// ficam contíguos na memória, o que reduz as falhas de cache no remove.
+// Os arrays só crescem (dobrando), então em regime permanente não há alocação.
+public class AgendaHeap implements Agenda {
+
+    private static final int ARIDADE = 4;
+
+    private double[] tempos;
+    private int[] eventos;
+    private int tamanho = 0;
+
+    public AgendaHeap() {
+        this(64);
+    }
+
+    public AgendaHeap(int capacidadeInicial) {
+        int cap = Math.max(capacidadeInicial, ARIDADE);
+        this.tempos = new double[cap];
+        this.eventos = new int[cap];
+    }
+
+    @Override
+    public void agendar(double tempo, int evento) {
+        if (tamanho == tempos.length) {
+            tempos = Arrays.copyOf(tempos, tamanho * 2);
+            eventos = Arrays.copyOf(eventos, tamanho * 2);
+        }
+        // Sobe o "buraco" a partir da última posição até achar o lugar do novo evento.
+        int i = tamanho++;
+        while (i > 0) {
+            int pai = (i - 1) / ARIDADE;
+            if (tempos[pai] <= tempo) break;
+            tempos[i] = tempos[pai];
+            eventos[i] = eventos[pai];
+            i = pai;
+        }
+        tempos[i] = tempo;
+        eventos[i] = evento;
+    }
+
+    @Override
+    public boolean vazia() {
+        return tamanho == 0;
+    }
+
+    @Override
+    public int tamanho() {
+        return tamanho;
+    }
+
+    @Override
+    public double proximoTempo() {
+        return tempos[0];
+    }
+
+    @Override
+    public int proximoEvento() {
+        return eventos[0];
+    }
+
+    @Override
+    public void remove() {
+        int ultimo = --tamanho;
+        if (ultimo == 0) return;
+
+        // Desce o último elemento a partir da raiz, trocando com o menor dos filhos.
+        double t = tempos[ultimo];
+        int e = eventos[ultimo];
+        int i = 0;
+        while (true) {
+            int primeiro = i * ARIDADE + 1;
+            if (primeiro >= ultimo) break;
+            int fim = Math.min(primeiro + ARIDADE, ultimo);
+            int menor = primeiro;
+            for (int c = primeiro + 1; c < fim; c++) {
+                if (tempos[c] < tempos[menor]) menor = c;
+            }
+            if (tempos[menor] >= t) break;
+            tempos[i] = tempos[menor];
+            eventos[i] = eventos[menor];
+            i = menor;
+        }
+        tempos[i] = t;
+        eventos[i] = e;
+    }
+
+    // Em ordem de nível, cada elemento reinserido já tem o pai no lugar e não sobe:
+    // o array volta idêntico.
+    @Override
+    public double tempo(int i) {
+        return tempos[i];
+    }
+
+    @Override
+    public int evento(int i) {
+        return eventos[i];
+    }
+
+    @Override
+    public void limpa() {
+        tamanho = 0;
+    }
+}
@@ -1,8 +1,27 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
 
 public class App {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // ---------------- MODELOS YAML ----------------
+        // Com argumentos, executa os model.yml (arquivos ou diretórios) no formato do simulator.jar,
+        // todos na mesma JVM, em vez da rede configurada abaixo.
+        if (args.length > 0) {
+            for (Path arquivo : ModeloYaml.arquivos(args)) {
+                System.out.println("Modelo: " + arquivo);
+                try {
+                    ModeloYaml.carrega(arquivo).executar();
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Erro no modelo " + arquivo + ": " + e.getMessage());
+                }
+            }
+            return;
+        }
+
         // ---------------- PARAMETROS DA REDE ----------------
         // Edite os valores abaixo para configurar a rede.
         // chegadaMin/Max: intervalo uniforme entre chegadas EXTERNAS na Fila 1.
@@ -25,6 +44,48 @@ public class App {
             {0.0,   1.0,   0.0}   // Origem: Fila 3
         };
 
+        // ---------------- DISTRIBUICOES ----------------
+        // null mantém o uniforme de chegadaMin/Max e de paramsFilas. Exemplos:
+        // Distribuicao.exponencial(7.5), Distribuicao.erlang(3, 45.0),
+        // Distribuicao.hiperexponencial(150.0, 4.0), Distribuicao.lognormal(45.0, 90.0),
+        // Distribuicao.deterministica(15.0), Distribuicao.empirica(Path.of("servicos.txt")).
+        Distribuicao chegadas = null;
+        Distribuicao[] servicos = {
+            null,   // Fila 1
+            null,   // Fila 2
+            null    // Fila 3
+        };
+
+        // ---------------- CLASSES DE CLIENTES ----------------
+        // Vazio = uma classe só, a 0 (a das chegadas de chegadaMin/Max na Fila 1). Filas indexadas
+        // a partir de 0 (Fila 1 = 0); classes de 0 a SimuladorRede.MAX_CLASSES-1.
+        // fontesExtras: {fila, classe, primeiraChegada} de cada entrada adicional, com o intervalo
+        // entre chegadas em chegadasExtras (mesma posição).
+        // servicosClasse/matrizesClasse: serviço por fila e roteamento próprios de cada classe
+        // (posição = classe; null mantém os da classe 0).
+        // Exemplo: clientes prioritários (classe 1) entrando direto na Fila 2.
+        double[][] fontesExtras = {
+            // {1, 1, 2.0}
+        };
+        Distribuicao[] chegadasExtras = {
+            // Distribuicao.exponencial(40.0)
+        };
+        Distribuicao[][] servicosClasse = {
+            // null,                                              // classe 0
+            // {null, Distribuicao.uniforme(10.0, 20.0), null}    // classe 1
+        };
+        double[][][] matrizesClasse = {
+            // null,                                  // classe 0
+            // {{0, 0, 0}, {0, 0, 0.5}, {0, 0, 0}}    // classe 1
+        };
+
+        // ---------------- REPLAY DE TRACE ----------------
+        // arquivoTrace != null substitui as chegadas externas pelas de um log real (CSV
+        // "chegada[,servico[,fila]]" ou .bin gerado por "java LeitorTrace x.csv x.bin").
+        // fatorCarga comprime o tempo entre chegadas (2.0 = dobro da carga).
+        String arquivoTrace = null;
+        double fatorCarga = 1.0;
+
         // ---------------- PARAMETROS DA SIMULACAO ----------------
         // Defina a 1ª chegada: fixa (apenas para o primeiro cliente) ou sorteada no intervalo.
         // limiteAleatorios: número máximo de amostras aleatórias para encerrar a simulação.
@@ -35,6 +96,155 @@ public class App {
             : uniformeEstatico(chegadaMin, chegadaMax);
         long limiteAleatorios = 100000;
 
+        // ---------------- AQUECIMENTO ----------------
+        // detectarAquecimento = true descarta o transiente inicial (sistema vazio) detectado por
+        // MSER-5: as estatísticas das filas são zeradas quando a rede entra em regime.
+        boolean detectarAquecimento = false;
+
+        // ---------------- RASTREAMENTO DE CLIENTES ----------------
+        // rastrearClientes = true acompanha cada cliente pela rede e mostra percentis
+        // (p50/p99/p99.9) de espera, permanência por fila e tempo de ponta a ponta.
+        boolean rastrearClientes = false;
+
+        // ---------------- RESULTADOS EM ARQUIVO ----------------
+        // arquivoResultados != null grava os números de cada execução em JSON lines (.jsonl),
+        // CSV (.csv) ou binário colunar (.bin) para pós-processamento (ver EscritorResultados).
+        // Na execução simples substitui o relatório do console.
+        String arquivoResultados = null;
+
+        // ---------------- CHECKPOINT ----------------
+        // arquivoCheckpoint != null continua a execução simples de onde a anterior parou: se o
+        // arquivo existe, o estado é restaurado e ganha mais limiteAleatorios de orçamento; ao
+        // final o estado é gravado de novo (ver SimuladorRede.salvaEstado).
+        String arquivoCheckpoint = null;
+
+        // ---------------- INSTRUMENTACAO ----------------
+        // amostragemMs > 0 mostra, durante a execução, eventos processados, tamanho da agenda,
+        // aleatórios usados e tempo simulado por segundo real. Os mesmos contadores vão para o
+        // JFR com -XX:StartFlightRecording (eventos simulador.Amostra e simulador.Execucao).
+        long amostragemMs = 0;
+        if (amostragemMs > 0) Instrumentacao.iniciaAmostrador(amostragemMs, System.out);
+
+        // ---------------- SOLUCAO ANALITICA ----------------
+        // solucaoAnalitica = true mostra antes a solução M/M/c/K da rede (SolverAnalitico), com as
+        // médias das distribuições acima: exata para chegadas e serviços exponenciais e filas
+        // infinitas, aproximada nos demais casos. Serve de triagem e de referência para a simulação.
+        boolean solucaoAnalitica = false;
+        if (solucaoAnalitica) {
+            SolverAnalitico solver = new SolverAnalitico(chegadaMin, chegadaMax, paramsFilas, matrizRoteamento);
+            if (chegadas != null) solver.defineChegadas(chegadas);
+            for (int i = 0; i < servicos.length; i++) {
+                if (servicos[i] != null) solver.defineServico(i, servicos[i]);
+            }
+            solver.resolve().relatorio();
+        }
+
+        // ---------------- SIMULACAO PARALELA ----------------
+        // processosParalelos > 0 divide as filas em blocos, um por thread (SimuladorParalelo),
+        // e faz UMA execução longa até tempoFinalParalelo (no lugar de limiteAleatorios). Usa
+        // só os uniformes de chegadaMin/Max e paramsFilas; com a mesma semente e o mesmo
+        // número de processos o resultado é sempre o mesmo.
+        int processosParalelos = 0;
+        double tempoFinalParalelo = 1_000_000.0;
+
+        if (processosParalelos > 0) {
+            SimuladorParalelo par = new SimuladorParalelo(chegadaMin, chegadaMax, 0, paramsFilas,
+                                                          new Roteamento(matrizRoteamento), primeiraChegada,
+                                                          tempoFinalParalelo, SimuladorRede.SEMENTE_PADRAO,
+                                                          processosParalelos);
+            par.executar();
+            try (EscritorResultados saida = abreResultados(arquivoResultados)) {
+                if (saida != null) saida.escreve(par.resultado(SimuladorRede.SEMENTE_PADRAO));
+                else par.relatorio();
+            }
+            return;
+        }
+
+        // ---------------- REPLICACOES ----------------
+        // replicacoes > 1 executa réplicas independentes em paralelo (uma semente por réplica,
+        // a partir de sementeInicial) e mostra médias com intervalo de confiança.
+        // Redução de variância (mesma precisão com menos réplicas):
+        //  - fluxosDedicados: serviço e roteamento de cada fila e chegadas de cada fonte com fluxos
+        //    próprios (números aleatórios comuns entre configurações com as mesmas sementes);
+        //  - antiteticas: cada semente vira um par, a réplica normal e a com 1-U em todo sorteio
+        //    (usa fluxos dedicados, senão o par perde o passo);
+        //  - variaveisControle: corrige as métricas pelo desvio dos serviços sorteados em relação
+        //    às médias conhecidas das distribuições.
+        int replicacoes = 1;
+        long sementeInicial = 1;
+        boolean fluxosDedicados = false;
+        boolean antiteticas = false;
+        boolean variaveisControle = false;
+
+        if (replicacoes > 1) {
+            System.out.println("Iniciando " + replicacoes + " replicações da rede...");
+            Function<FonteAleatoria, SimuladorRede> fabrica = fonte -> {
+                SimuladorRede s = new SimuladorRede(chegadaMin, chegadaMax, paramsFilas, matrizRoteamento,
+                                                    primeiraChegada, limiteAleatorios, fonte);
+                aplicaDistribuicoes(s, chegadas, servicos);
+                configuraClasses(s, fontesExtras, chegadasExtras, servicosClasse, matrizesClasse);
+                if (fluxosDedicados || antiteticas) s.usaFluxosDedicados();
+                if (detectarAquecimento) s.ativaDeteccaoAquecimento();
+                return s;
+            };
+            long[] sementes = Replicador.sementes(sementeInicial, replicacoes);
+            Replicador rep = antiteticas
+                ? Replicador.antitetico(fabrica, sementes)
+                : new Replicador(semente -> fabrica.apply(new FonteLcg48(semente)), sementes);
+            if (variaveisControle) rep.usaVariaveisControle();
+            rep.executar().relatorio();
+            try (EscritorResultados saida = abreResultados(arquivoResultados)) {
+                if (saida != null) rep.grava(saida);
+            }
+            return;
+        }
+
+        // ---------------- VARREDURA ----------------
+        // varredura = true avalia uma grade de configurações a partir dos parâmetros acima
+        // (aqui: servidores e capacidade da Fila 2) e depois busca, para cada capacidade,
+        // o menor número de servidores da Fila 2 com perda abaixo de 1%.
+        boolean varredura = false;
+
+        if (varredura) {
+            try (EscritorResultados saida = abreResultados(arquivoResultados)) {
+                Varredura v = new Varredura(chegadaMin, chegadaMax, paramsFilas, matrizRoteamento,
+                                            primeiraChegada, limiteAleatorios)
+                    .servidores(1, Varredura.faixa(1, 6))
+                    .capacidade(1, 10, 20, 40)
+                    .replicacoes(5, sementeInicial)
+                    .saida(saida);
+                System.out.println("Varredura: " + v.totalPontos() + " configurações");
+                v.tabela(v.executar(), System.out);
+
+                System.out.println("\nMenor número de servidores na Fila 2 com perda < 1%:");
+                v.tabela(v.busca(0, p -> p.perda[1] < 0.01), System.out);
+            }
+            return;
+        }
+
+        // ---------------- PARADA SEQUENCIAL ----------------
+        // precisaoAlvo > 0 ignora limiteAleatorios (usa limiteSequencial como teto) e para quando
+        // população média e tempo de resposta de todas as filas têm semi-amplitude relativa
+        // <= precisaoAlvo (ex.: 0.02 = ±2%) com a confiança dada.
+        double precisaoAlvo = 0.0;
+        double confiancaAlvo = 0.95;
+        long limiteSequencial = 100_000_000;
+
+        if (precisaoAlvo > 0) {
+            System.out.println("Iniciando simulação da rede até a precisão desejada...");
+            SimuladorRede seq = new SimuladorRede(chegadaMin, chegadaMax, paramsFilas, matrizRoteamento,
+                                                  primeiraChegada, limiteSequencial, sementeInicial);
+            aplicaDistribuicoes(seq, chegadas, servicos);
+            configuraClasses(seq, fontesExtras, chegadasExtras, servicosClasse, matrizesClasse);
+            if (detectarAquecimento) seq.ativaDeteccaoAquecimento();
+            if (rastrearClientes) seq.ativaRastreamento();
+            try (LeitorTrace trace = abreTrace(arquivoTrace)) {
+                if (trace != null) seq.defineTrace(trace, fatorCarga);
+                seq.simularAtePrecisao(precisaoAlvo, confiancaAlvo);
+            }
+            return;
+        }
+
         // ---------------- EXECUCAO ----------------
         // Instancia o simulador e executa. Saída aparece no console.
         SimuladorRede sim = new SimuladorRede(
@@ -46,11 +256,69 @@ public class App {
             limiteAleatorios
         );
 
-        System.out.println("Iniciando simulação da rede...");
-        sim.simular();
+        aplicaDistribuicoes(sim, chegadas, servicos);
+        configuraClasses(sim, fontesExtras, chegadasExtras, servicosClasse, matrizesClasse);
+        if (detectarAquecimento) sim.ativaDeteccaoAquecimento();
+        if (rastrearClientes) sim.ativaRastreamento();
+        try (LeitorTrace trace = abreTrace(arquivoTrace);
+             EscritorResultados saida = abreResultados(arquivoResultados)) {
+            if (trace != null) sim.defineTrace(trace, fatorCarga);
+            Path checkpoint = arquivoCheckpoint != null ? Path.of(arquivoCheckpoint) : null;
+            if (checkpoint != null && Files.exists(checkpoint)) {
+                sim.restauraEstado(checkpoint);
+                sim.estendeOrcamento(limiteAleatorios);
+                System.out.println("Estado restaurado de " + checkpoint);
+            }
+            System.out.println("Iniciando simulação da rede...");
+            if (saida == null) {
+                sim.simular();
+            } else {
+                sim.executar();
+                saida.escreve(Resultado.de(sim, SimuladorRede.SEMENTE_PADRAO));
+                System.out.println("Resultados gravados em " + arquivoResultados);
+            }
+            if (checkpoint != null) {
+                sim.salvaEstado(checkpoint);
+                System.out.println("Estado gravado em " + checkpoint);
+            }
+        }
     }
 
     // ---------------- FUNCOES AUXILIARES ----------------
+    private static void aplicaDistribuicoes(SimuladorRede sim, Distribuicao chegadas, Distribuicao[] servicos) {
+        if (chegadas != null) sim.defineChegadas(chegadas);
+        for (int i = 0; i < servicos.length; i++) {
+            if (servicos[i] != null) sim.defineServico(i, servicos[i]);
+        }
+    }
+
+    private static void configuraClasses(SimuladorRede sim, double[][] fontes, Distribuicao[] chegadas,
+                                         Distribuicao[][] servicos, double[][][] matrizes) {
+        if (fontes.length != chegadas.length) {
+            throw new IllegalArgumentException("fontesExtras e chegadasExtras têm tamanhos diferentes");
+        }
+        for (int i = 0; i < fontes.length; i++) {
+            sim.adicionaChegadas((int) fontes[i][0], (int) fontes[i][1], chegadas[i], fontes[i][2]);
+        }
+        for (int classe = 0; classe < servicos.length; classe++) {
+            if (servicos[classe] == null) continue;
+            for (int fila = 0; fila < servicos[classe].length; fila++) {
+                if (servicos[classe][fila] != null) sim.defineServico(fila, classe, servicos[classe][fila]);
+            }
+        }
+        for (int classe = 0; classe < matrizes.length; classe++) {
+            if (matrizes[classe] != null) sim.defineRoteamento(classe, new Roteamento(matrizes[classe]));
+        }
+    }
+
+    private static EscritorResultados abreResultados(String arquivo) throws IOException {
+        return arquivo != null ? EscritorResultados.abre(Path.of(arquivo)) : null;
+    }
+
+    private static LeitorTrace abreTrace(String arquivo) throws IOException {
+        return arquivo != null ? LeitorTrace.abre(Path.of(arquivo)) : null;
+    }
+
     private static double uniformeEstatico(double a, double b) {
         return a + new Random().nextDouble() * (b - a);
     }
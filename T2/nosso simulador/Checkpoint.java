@@ -0,0 +1,206 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+// Arquivo binário do checkpoint do SimuladorRede (salvaEstado / restauraEstado): o que o
+// simulador grava é decidido lá, campo a campo; aqui ficam só o cabeçalho e a leitura e
+// escrita de primitivos little-endian por um ByteBuffer direto sobre um FileChannel, como
+// em EscritorResultados. Os arrays (agenda, histogramas, resto do bloco de aleatórios) vão
+// em blocos de DoubleBuffer/IntBuffer, sem laço por elemento.
+//
+// Cabeçalho: int MAGICO ("CKP1"), int VERSAO. Não é um formato de troca: muda junto com o
+// simulador, e a versão só serve para recusar arquivos antigos com uma mensagem clara.
+final class Checkpoint {
+
+    static final int MAGICO = 0x31504B43;   // "CKP1" em little-endian
+    static final int VERSAO = 2;
+    static final int TAMANHO_BUFFER = 1 << 20;
+    static final int FONTE_LCG48 = 1;
+    static final int FONTE_ANTITETICA = 2;
+
+    private Checkpoint() {
+    }
+
+    // ---------------- ESCRITA ----------------
+    static final class Saida implements Closeable {
+        private final FileChannel canal;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+
+        Saida(Path arquivo) throws IOException {
+            canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                     StandardOpenOption.TRUNCATE_EXISTING);
+            inteiro(MAGICO);
+            inteiro(VERSAO);
+        }
+
+        private void reserva(int bytes) throws IOException {
+            if (buf.remaining() < bytes) despeja();
+        }
+
+        private void despeja() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) canal.write(buf);
+            buf.clear();
+        }
+
+        void inteiro(int v) throws IOException {
+            reserva(4);
+            buf.putInt(v);
+        }
+
+        void longo(long v) throws IOException {
+            reserva(8);
+            buf.putLong(v);
+        }
+
+        void real(double v) throws IOException {
+            reserva(8);
+            buf.putDouble(v);
+        }
+
+        void logico(boolean v) throws IOException {
+            reserva(1);
+            buf.put((byte) (v ? 1 : 0));
+        }
+
+        // Só fontes com estado acessível: FonteLcg48 e a antitética sobre ela.
+        void fonte(FonteAleatoria f) throws IOException {
+            if (f instanceof FonteLcg48) {
+                inteiro(FONTE_LCG48);
+                ((FonteLcg48) f).grava(this);
+            } else if (f instanceof FonteAntitetica) {
+                inteiro(FONTE_ANTITETICA);
+                fonte(((FonteAntitetica) f).base());
+            } else {
+                throw new UnsupportedOperationException("checkpoint não guarda o estado de " + f.getClass().getSimpleName()
+                                                        + " (use FonteLcg48)");
+            }
+        }
+
+        void reais(double[] a, int de, int n) throws IOException {
+            while (n > 0) {
+                reserva(8);
+                int k = Math.min(n, buf.remaining() / 8);
+                buf.asDoubleBuffer().put(a, de, k);
+                buf.position(buf.position() + 8 * k);
+                de += k;
+                n -= k;
+            }
+        }
+
+        void inteiros(int[] a, int de, int n) throws IOException {
+            while (n > 0) {
+                reserva(4);
+                int k = Math.min(n, buf.remaining() / 4);
+                buf.asIntBuffer().put(a, de, k);
+                buf.position(buf.position() + 4 * k);
+                de += k;
+                n -= k;
+            }
+        }
+
+        // Só depois do force o arquivo substitui com segurança um checkpoint anterior.
+        @Override
+        public void close() throws IOException {
+            try {
+                despeja();
+                canal.force(false);
+            } finally {
+                canal.close();
+            }
+        }
+    }
+
+    // ---------------- LEITURA ----------------
+    static final class Entrada implements Closeable {
+        private final Path arquivo;
+        private final FileChannel canal;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+
+        Entrada(Path arquivo) throws IOException {
+            this.arquivo = arquivo;
+            canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+            buf.limit(0);
+            if (inteiro() != MAGICO) throw erro("não é um checkpoint do simulador (esperado CKP1)");
+            int versao = inteiro();
+            if (versao != VERSAO) throw erro("checkpoint na versão " + versao + ", este simulador lê a " + VERSAO);
+        }
+
+        // Garante 'bytes' disponíveis no buffer, lendo mais do arquivo.
+        private void garante(int bytes) throws IOException {
+            if (buf.remaining() >= bytes) return;
+            buf.compact();
+            while (buf.position() < bytes) {
+                if (canal.read(buf) < 0) {
+                    buf.flip();
+                    throw erro("checkpoint truncado");
+                }
+            }
+            buf.flip();
+        }
+
+        int inteiro() throws IOException {
+            garante(4);
+            return buf.getInt();
+        }
+
+        long longo() throws IOException {
+            garante(8);
+            return buf.getLong();
+        }
+
+        double real() throws IOException {
+            garante(8);
+            return buf.getDouble();
+        }
+
+        boolean logico() throws IOException {
+            garante(1);
+            return buf.get() != 0;
+        }
+
+        FonteAleatoria fonte() throws IOException {
+            int tipo = inteiro();
+            switch (tipo) {
+                case FONTE_LCG48:
+                    return FonteLcg48.le(this);
+                case FONTE_ANTITETICA:
+                    return new FonteAntitetica(fonte());
+                default:
+                    throw erro("tipo de fonte desconhecido: " + tipo);
+            }
+        }
+
+        void reais(double[] a, int de, int n) throws IOException {
+            while (n > 0) {
+                garante(8);
+                int k = Math.min(n, buf.remaining() / 8);
+                buf.asDoubleBuffer().get(a, de, k);
+                buf.position(buf.position() + 8 * k);
+                de += k;
+                n -= k;
+            }
+        }
+
+        void inteiros(int[] a, int de, int n) throws IOException {
+            while (n > 0) {
+                garante(4);
+                int k = Math.min(n, buf.remaining() / 4);
+                buf.asIntBuffer().get(a, de, k);
+                buf.position(buf.position() + 4 * k);
+                de += k;
+                n -= k;
+            }
+        }
+
+        IOException erro(String msg) {
+            return new IOException(arquivo + ": " + msg);
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+}
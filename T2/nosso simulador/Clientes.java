@@ -0,0 +1,202 @@
+import java.util.Arrays;
+
+// Rastreamento individual de clientes para o SimuladorRede (modo opcional).
+// Cada cliente é um índice em arrays primitivos (instante de chegada ao sistema e à fila
+// atual, fila atual, visitas); índices livres formam uma lista encadeada pelo array
+// 'proximoLivre', então criar e descartar clientes não aloca nada depois que o pool atinge
+// o tamanho máximo de clientes simultâneos. A espera de cada fila é um buffer circular de
+// índices (FIFO).
+//
+// Com isso a espera e a permanência de cada cliente em cada fila, e o tempo de ponta a
+// ponta no sistema, vão para histogramas de latência (percentis), em vez de só as médias
+// pela lei de Little.
+public class Clientes {
+
+    static final int MAX_CLIENTES = 1 << (31 - SimuladorRede.DESLOCAMENTO_FILA);  // o índice vai no evento
+    static final double RESOLUCAO = 1e-3;     // menor diferença de tempo distinguida nos histogramas
+
+    // ---------------- ESPERA FIFO DE UMA FILA ----------------
+    static final class FilaEspera {
+        private int[] ids = new int[64];
+        private int inicio = 0;
+        private int tamanho = 0;
+
+        void adiciona(int id) {
+            if (tamanho == ids.length) {
+                int[] novo = new int[ids.length * 2];
+                for (int i = 0; i < tamanho; i++) novo[i] = ids[(inicio + i) & (ids.length - 1)];
+                ids = novo;
+                inicio = 0;
+            }
+            ids[(inicio + tamanho) & (ids.length - 1)] = id;
+            tamanho++;
+        }
+
+        int remove() {
+            int id = ids[inicio];
+            inicio = (inicio + 1) & (ids.length - 1);
+            tamanho--;
+            return id;
+        }
+
+        void limpa() {
+            inicio = 0;
+            tamanho = 0;
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        // i-ésimo a partir do início (0 = o próximo a sair).
+        int get(int i) {
+            return ids[(inicio + i) & (ids.length - 1)];
+        }
+    }
+
+    // ---------------- POOL ----------------
+    private double[] chegadaSistema = new double[1024];
+    private double[] chegadaFila = new double[1024];
+    private int[] fila = new int[1024];
+    private int[] visitas = new int[1024];
+    private byte[] classe = new byte[1024];
+    private double[] demanda = new double[1024];   // serviço vindo do trace (NaN = sortear)
+    private int[] proximoLivre = new int[1024];
+    private int livre = -1;        // topo da lista de livres
+    private int usados = 0;        // índices já entregues alguma vez (o resto do array é novo)
+
+    private final FilaEspera[] esperas;
+
+    // ---------------- ESTATISTICAS ----------------
+    final HistogramaLatencia[] espera;        // chegada na fila -> início do serviço
+    final HistogramaLatencia[] permanencia;   // chegada na fila -> saída da fila
+    final HistogramaLatencia sistema = new HistogramaLatencia(RESOLUCAO);  // ponta a ponta
+    long concluidos = 0;
+    long perdidos = 0;
+    long visitasConcluidos = 0;
+
+    Clientes(int numFilas) {
+        esperas = new FilaEspera[numFilas];
+        espera = new HistogramaLatencia[numFilas];
+        permanencia = new HistogramaLatencia[numFilas];
+        for (int i = 0; i < numFilas; i++) {
+            esperas[i] = new FilaEspera();
+            espera[i] = new HistogramaLatencia(RESOLUCAO);
+            permanencia[i] = new HistogramaLatencia(RESOLUCAO);
+        }
+    }
+
+    // ---------------- CICLO DE VIDA DO CLIENTE ----------------
+    int novo(double tempo, int classe) {
+        int id;
+        if (livre >= 0) {
+            id = livre;
+            livre = proximoLivre[id];
+        } else {
+            if (usados == chegadaSistema.length) cresce();
+            id = usados++;
+        }
+        chegadaSistema[id] = tempo;
+        visitas[id] = 0;
+        this.classe[id] = (byte) classe;
+        demanda[id] = Double.NaN;
+        return id;
+    }
+
+    private void cresce() {
+        if (usados >= MAX_CLIENTES) {
+            throw new IllegalStateException("mais de " + MAX_CLIENTES + " clientes simultâneos na rede");
+        }
+        int tam = chegadaSistema.length * 2;
+        chegadaSistema = Arrays.copyOf(chegadaSistema, tam);
+        chegadaFila = Arrays.copyOf(chegadaFila, tam);
+        fila = Arrays.copyOf(fila, tam);
+        visitas = Arrays.copyOf(visitas, tam);
+        classe = Arrays.copyOf(classe, tam);
+        demanda = Arrays.copyOf(demanda, tam);
+        proximoLivre = Arrays.copyOf(proximoLivre, tam);
+    }
+
+    private void libera(int id) {
+        proximoLivre[id] = livre;
+        livre = id;
+    }
+
+    int fila(int id) {
+        return fila[id];
+    }
+
+    int classe(int id) {
+        return classe[id];
+    }
+
+    // Cliente entrou (não foi bloqueado) na fila 'filaId'.
+    void chega(int id, int filaId, double tempo) {
+        fila[id] = filaId;
+        chegadaFila[id] = tempo;
+        visitas[id]++;
+    }
+
+    // Demanda de serviço conhecida (replay de trace); vale só para o próximo serviço.
+    void defineDemanda(int id, double d) {
+        demanda[id] = d;
+    }
+
+    double tomaDemanda(int id) {
+        double d = demanda[id];
+        demanda[id] = Double.NaN;
+        return d;
+    }
+
+    void iniciaServico(int id, double tempo) {
+        espera[fila[id]].registra(tempo - chegadaFila[id]);
+    }
+
+    void aguarda(int filaId, int id) {
+        esperas[filaId].adiciona(id);
+    }
+
+    int proximoDaEspera(int filaId) {
+        return esperas[filaId].remove();
+    }
+
+    // Terminou o serviço na fila atual.
+    void sai(int id, double tempo) {
+        permanencia[fila[id]].registra(tempo - chegadaFila[id]);
+    }
+
+    // Deixou o sistema pelo roteamento.
+    void conclui(int id, double tempo) {
+        sistema.registra(tempo - chegadaSistema[id]);
+        concluidos++;
+        visitasConcluidos += visitas[id];
+        libera(id);
+    }
+
+    // Bloqueado numa fila cheia: sai do sistema sem tempo de ponta a ponta.
+    void perde(int id) {
+        perdidos++;
+        libera(id);
+    }
+
+    // ---------------- REINICIO ----------------
+    // Zera só as estatísticas (fim do aquecimento); os clientes em trânsito continuam.
+    void zeraEstatisticas() {
+        for (int i = 0; i < espera.length; i++) {
+            espera[i].zera();
+            permanencia[i].zera();
+        }
+        sistema.zera();
+        concluidos = 0;
+        perdidos = 0;
+        visitasConcluidos = 0;
+    }
+
+    // Esvazia o pool para uma nova execução (SimuladorRede.reinicia).
+    void limpa() {
+        livre = -1;
+        usados = 0;
+        for (FilaEspera f : esperas) f.limpa();
+        zeraEstatisticas();
+    }
+}
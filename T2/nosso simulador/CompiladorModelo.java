@@ -0,0 +1,500 @@
+import java.io.*;
+import java.lang.invoke.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import javax.tools.*;
+
+// Compilador de modelos: gera um motor especializado para uma rede específica.
+// O SimuladorRede é genérico (filas.get(id), tabela de roteamento consultada a cada saída);
+// aqui cada fila vira um conjunto de campos e métodos próprios, capacidade/servidores/tempos
+// de serviço viram constantes e cada tabela de alias do roteamento vira um switch fixo,
+// como no SimuladorTandem, só que para qualquer topologia.
+//
+// O código gerado é compilado em memória (javax.tools) e carregado como classe oculta
+// (MethodHandles.Lookup.defineHiddenClass) no mesmo pacote, então pode usar AgendaHeap,
+// HistogramaEstados etc. e é descarregado quando não é mais referenciado.
+//
+// O motor gerado consome os números aleatórios na mesma ordem e com a mesma regra de
+// orçamento do SimuladorRede, então com a mesma fonte os resultados são idênticos;
+// valida() confere isso.
+//
+// Limite: o código gerado cresce com a rede (perto de 1 KB de bytecode por fila) e só é
+// mais rápido que o SimuladorRede enquanto cabe no cache de instruções. Em
+// benchmarks/BenchRedeCompilada (séries, 10^6 aleatórios) ele ganha 20 a 30% com 3 e 4
+// filas, empata dentro do ruído com 5 e 6 e perde a partir de 8 (20% mais lento com 30
+// filas, 2 a 3x com 300), porque o laço genérico tem o mesmo código para todas as filas.
+// Por isso novoMotor só gera o motor para redes de até FILAS_COMPILADAS filas e, acima
+// disso, devolve o próprio SimuladorRede.
+public class CompiladorModelo {
+
+    private static final String NOME_CLASSE = "RedeCompilada";
+    private static final int BLOCO_DESPACHO = 256;
+    static final int FILAS_COMPILADAS = 4;
+    // Próximo número do bloco, como expressão: u() era um método chamado de cada fila e, com
+    // tantos pontos de chamada, o JIT deixava de embuti-lo.
+    private static final String U = "(indice < fim ? bloco[indice++] : recarrega())";
+
+    // ---------------- MODELO ----------------
+    private final double chegadaMin, chegadaMax;
+    private final int filaEntrada;
+    private final List<double[]> paramsFilas;
+    private final Roteamento roteamento;
+    private final double primeiraChegada;
+
+    private MethodHandle construtor;  // (FonteAleatoria, long) -> MotorRede, gerado na primeira vez
+
+    public CompiladorModelo(
+        double chegadaMin, double chegadaMax,
+        int filaEntrada,
+        List<double[]> paramsFilas,
+        Roteamento roteamento,
+        double primeiraChegada
+    ) {
+        if (roteamento.numFilas() != paramsFilas.size()) {
+            throw new IllegalArgumentException("roteamento com " + roteamento.numFilas() + " filas, modelo com "
+                                               + paramsFilas.size());
+        }
+        this.chegadaMin = chegadaMin;
+        this.chegadaMax = chegadaMax;
+        this.filaEntrada = filaEntrada;
+        this.paramsFilas = paramsFilas;
+        this.roteamento = roteamento;
+        this.primeiraChegada = primeiraChegada;
+    }
+
+    // ---------------- INSTANCIAS ----------------
+    // Se novoMotor gera código para esta rede (ver FILAS_COMPILADAS).
+    public boolean compila() {
+        return paramsFilas.size() <= FILAS_COMPILADAS;
+    }
+
+    // Novo motor pronto para executar: o gerado se a rede for pequena, senão o SimuladorRede.
+    public MotorRede novoMotor(FonteAleatoria fonte, long limiteAleatorios) {
+        if (!compila()) {
+            return new MotorGenerico(novoSimulador(fonte, limiteAleatorios));
+        }
+        return motorGerado(fonte, limiteAleatorios);
+    }
+
+    // O motor gerado, qualquer que seja o tamanho da rede. A compilação só acontece na
+    // primeira chamada; as seguintes (réplicas, pontos de varredura) só instanciam a classe.
+    MotorRede motorGerado(FonteAleatoria fonte, long limiteAleatorios) {
+        try {
+            return (MotorRede) construtor().invoke(fonte, limiteAleatorios);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    // O SimuladorRede equivalente, para comparação.
+    public SimuladorRede novoSimulador(FonteAleatoria fonte, long limiteAleatorios) {
+        return new SimuladorRede(chegadaMin, chegadaMax, filaEntrada, paramsFilas, roteamento, primeiraChegada,
+                                 limiteAleatorios, fonte, new AgendaHeap());
+    }
+
+    // SimuladorRede visto como MotorRede, para redes grandes demais para compilar.
+    private static final class MotorGenerico implements MotorRede {
+        private final SimuladorRede sim;
+
+        MotorGenerico(SimuladorRede sim) {
+            this.sim = sim;
+        }
+
+        public void executar() { sim.executar(); }
+        public double getTempo() { return sim.getTempo(); }
+        public long getUsados() { return sim.getUsados(); }
+        public long getEventos() { return sim.getEventos(); }
+        public int numFilas() { return sim.getFilas().size(); }
+        public HistogramaEstados tempos(int fila) { return sim.getFilas().get(fila).tempos; }
+        public int perdas(int fila) { return sim.getFilas().get(fila).perdas; }
+        public int saidas(int fila) { return sim.getFilas().get(fila).saidas; }
+    }
+
+    private synchronized MethodHandle construtor() {
+        if (construtor == null) {
+            byte[] bytecode = compila(NOME_CLASSE, geraCodigo());
+            try {
+                MethodHandles.Lookup oculta = MethodHandles.lookup().defineHiddenClass(bytecode, true);
+                construtor = oculta.findConstructor(oculta.lookupClass(),
+                                                    MethodType.methodType(void.class, FonteAleatoria.class, long.class))
+                                   .asType(MethodType.methodType(MotorRede.class, FonteAleatoria.class, long.class));
+            } catch (IllegalAccessException | NoSuchMethodException e) {
+                throw new IllegalStateException("não foi possível carregar o motor gerado", e);
+            }
+        }
+        return construtor;
+    }
+
+    // ---------------- GERACAO DE CODIGO ----------------
+    String geraCodigo() {
+        int k = paramsFilas.size();
+        StringBuilder sb = new StringBuilder(4096 + k * 1024);
+
+        sb.append("// Gerado por CompiladorModelo: ").append(k).append(" filas, entrada na fila ")
+          .append(filaEntrada + 1).append(".\n");
+        sb.append("public final class ").append(NOME_CLASSE).append(" implements MotorRede {\n\n");
+
+        sb.append("    private final AgendaHeap agenda = new AgendaHeap();\n");
+        sb.append("    private final FonteAleatoria fonte;\n");
+        sb.append("    private final double[] bloco = new double[").append(SimuladorRede.TAMANHO_BLOCO).append("];\n");
+        sb.append("    private int indice = 0, fim = 0;\n");
+        sb.append("    private final long limite;\n");
+        sb.append("    private long consumidos = 0, eventos = 0;\n");
+        sb.append("    private double tempo = 0.0;\n\n");
+
+        for (int i = 0; i < k; i++) {
+            sb.append("    private int n").append(i).append(", ocupados").append(i).append(", espera").append(i)
+              .append(", perdas").append(i).append(", saidas").append(i).append(";\n");
+            sb.append("    private double ultima").append(i).append(";\n");
+            sb.append("    private final HistogramaEstados tempos").append(i).append(" = new HistogramaEstados(")
+              .append(capacidade(i)).append(");\n");
+        }
+
+        sb.append("\n    public ").append(NOME_CLASSE).append("(FonteAleatoria fonte, long limite) {\n");
+        sb.append("        this.fonte = fonte;\n");
+        sb.append("        this.limite = limite;\n");
+        sb.append("        agenda.agendar(").append(lit(primeiraChegada)).append(", ")
+          .append(SimuladorRede.evento(SimuladorRede.CHEGADA, filaEntrada)).append(");\n");
+        sb.append("    }\n\n");
+
+        // Os sorteios são lidos direto do bloco no código de cada fila (ver U); só a recarga
+        // é um método. Os números já consumidos são 'consumidos' (blocos anteriores) mais 'indice'.
+        sb.append("    private double recarrega() {\n");
+        sb.append("        consumidos += fim;\n");
+        sb.append("        fim = (int) Math.min(bloco.length, limite - consumidos);\n");
+        sb.append("        fonte.preenche(bloco, fim);\n");
+        sb.append("        indice = 1;\n");
+        sb.append("        return bloco[0];\n");
+        sb.append("    }\n\n");
+
+        // Laço principal. Cada evento confere sozinho se o orçamento cobre seus sorteios
+        // (mesma regra de SimuladorRede.sorteiosNecessarios). As saídas são despachadas pelo
+        // número da fila, em blocos de BLOCO_DESPACHO filas por método: o JIT não compila
+        // métodos acima de 8000 bytes de bytecode, e um switch único com centenas de filas
+        // passaria disso.
+        int evChegada = SimuladorRede.evento(SimuladorRede.CHEGADA, filaEntrada);
+        int blocos = (k + BLOCO_DESPACHO - 1) / BLOCO_DESPACHO;
+        sb.append("    public void executar() {\n");
+        sb.append("        boolean continua = true;\n");
+        sb.append("        while (continua && !agenda.vazia()) {\n");
+        sb.append("            int e = agenda.proximoEvento();\n");
+        sb.append("            if (e == ").append(evChegada).append(") {\n");
+        sb.append("                continua = chegada();\n");
+        sb.append("            } else {\n");
+        sb.append("                int fila = e >>> ").append(SimuladorRede.DESLOCAMENTO_FILA).append(";\n");
+        if (blocos == 1) {
+            sb.append("                continua = despacha0(fila);\n");
+        } else {
+            sb.append("                switch (fila / ").append(BLOCO_DESPACHO).append(") {\n");
+            for (int b = 0; b < blocos; b++) {
+                sb.append("                    case ").append(b).append(": continua = despacha").append(b)
+                  .append("(fila); break;\n");
+            }
+            sb.append("                    default: throw new IllegalStateException(\"evento \" + e);\n");
+            sb.append("                }\n");
+        }
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        fecha();\n");
+        sb.append("    }\n\n");
+
+        for (int b = 0; b < blocos; b++) {
+            sb.append("    private boolean despacha").append(b).append("(int fila) {\n");
+            sb.append("        switch (fila) {\n");
+            for (int i = b * BLOCO_DESPACHO; i < Math.min(k, (b + 1) * BLOCO_DESPACHO); i++) {
+                sb.append("            case ").append(i).append(": return saida").append(i).append("();\n");
+            }
+            sb.append("            default: throw new IllegalStateException(\"fila \" + fila);\n");
+            sb.append("        }\n");
+            sb.append("    }\n\n");
+        }
+
+        sb.append("    private void fecha() {\n");
+        for (int i = 0; i < k; i++) {
+            sb.append("        acumula").append(i).append("();\n");
+        }
+        sb.append("    }\n\n");
+
+        // Retira o evento do topo da agenda se houver 'necessarios' números no orçamento.
+        sb.append("    private boolean avanca(int necessarios) {\n");
+        sb.append("        if (limite - consumidos - indice < necessarios) return false;\n");
+        sb.append("        tempo = agenda.proximoTempo();\n");
+        sb.append("        agenda.remove();\n");
+        sb.append("        eventos++;\n");
+        sb.append("        return true;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    private boolean chegada() {\n");
+        sb.append("        if (!avanca(1 + (n").append(filaEntrada).append(" < ").append(capacidade(filaEntrada))
+          .append(" && ocupados").append(filaEntrada).append(" < ").append(servidores(filaEntrada))
+          .append(" ? 1 : 0))) return false;\n");
+        sb.append("        agenda.agendar(tempo + ").append(uniforme(chegadaMin, chegadaMax)).append(", ")
+          .append(evChegada).append(");\n");
+        sb.append("        entra").append(filaEntrada).append("();\n");
+        sb.append("        return true;\n");
+        sb.append("    }\n\n");
+
+        for (int i = 0; i < k; i++) {
+            geraFila(sb, i);
+        }
+
+        geraAcesso(sb, "HistogramaEstados", "tempos", k);
+        geraAcesso(sb, "int", "perdas", k);
+        geraAcesso(sb, "int", "saidas", k);
+        sb.append("    public int numFilas() { return ").append(k).append("; }\n");
+        sb.append("    public double getTempo() { return tempo; }\n");
+        sb.append("    public long getUsados() { return consumidos + indice; }\n");
+        sb.append("    public long getEventos() { return eventos; }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private void geraFila(StringBuilder sb, int i) {
+        double[] p = paramsFilas.get(i);
+        String servico = uniforme(p[2], p[3]);
+        int evSaida = SimuladorRede.evento(SimuladorRede.SAIDA, i);
+
+        sb.append("    // ---- Fila ").append(i + 1).append(" ----\n");
+        sb.append("    private void acumula").append(i).append("() {\n");
+        sb.append("        double d = tempo - ultima").append(i).append(";\n");
+        sb.append("        if (d > 0) tempos").append(i).append(".adiciona(n").append(i).append(", d);\n");
+        sb.append("        ultima").append(i).append(" = tempo;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    private void entra").append(i).append("() {\n");
+        sb.append("        if (n").append(i).append(" >= ").append(capacidade(i)).append(") {\n");
+        sb.append("            perdas").append(i).append("++;\n");
+        sb.append("            return;\n");
+        sb.append("        }\n");
+        sb.append("        acumula").append(i).append("();\n");
+        sb.append("        n").append(i).append("++;\n");
+        sb.append("        if (ocupados").append(i).append(" < ").append(servidores(i)).append(") {\n");
+        sb.append("            ocupados").append(i).append("++;\n");
+        sb.append("            agenda.agendar(tempo + ").append(servico).append(", ").append(evSaida).append(");\n");
+        sb.append("        } else {\n");
+        sb.append("            espera").append(i).append("++;\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    private boolean saida").append(i).append("() {\n");
+        // roteamento + serviço no destino, no pior caso (SimuladorRede.sorteiosNecessarios)
+        int rota = roteamento.sorteios(i);
+        boolean sai = rota == 0 && roteamento.destinoUnico(i) == Roteamento.SAIDA_SISTEMA;
+        sb.append("        if (!avanca((espera").append(i).append(" > 0 ? 1 : 0) + ")
+          .append(rota + (sai ? 0 : 1)).append(")) return false;\n");
+        sb.append("        acumula").append(i).append("();\n");
+        sb.append("        ocupados").append(i).append("--;\n");
+        sb.append("        n").append(i).append("--;\n");
+        sb.append("        saidas").append(i).append("++;\n");
+        sb.append("        if (espera").append(i).append(" > 0) {\n");
+        sb.append("            espera").append(i).append("--;\n");
+        sb.append("            ocupados").append(i).append("++;\n");
+        sb.append("            agenda.agendar(tempo + ").append(servico).append(", ").append(evSaida).append(");\n");
+        sb.append("        }\n");
+        geraRota(sb, roteamento.tabela(i));
+        sb.append("        return true;\n");
+        sb.append("    }\n\n");
+    }
+
+    // A tabela de alias vira um switch sobre a coluna sorteada, com os cortes como literais.
+    // Com um único destino não há sorteio (Roteamento.sorteios).
+    private static void geraRota(StringBuilder sb, Roteamento.Tabela t) {
+        int colunas = t.destinos.length;
+        if (colunas == 1) {
+            sb.append(entra(t.destinos[0], "        "));
+            return;
+        }
+        sb.append("        double x = ").append(U).append(" * ").append(colunas).append(";\n");
+        sb.append("        int c = (int) x;\n");
+        sb.append("        double f = x - c;\n");
+        sb.append("        switch (c) {\n");
+        for (int c = 0; c < colunas; c++) {
+            sb.append("            case ").append(c).append(":\n");
+            if (t.destinos[c] == t.alias[c]) {
+                sb.append(entra(t.destinos[c], "                "));
+            } else {
+                sb.append("                if (f < ").append(lit(t.corte[c])).append(") {\n");
+                sb.append(entra(t.destinos[c], "                    "));
+                sb.append("                } else {\n");
+                sb.append(entra(t.alias[c], "                    "));
+                sb.append("                }\n");
+            }
+            sb.append("                break;\n");
+        }
+        sb.append("        }\n");
+    }
+
+    private static String entra(int destino, String recuo) {
+        if (destino == Roteamento.SAIDA_SISTEMA) return recuo + "// sai do sistema\n";
+        return recuo + "entra" + destino + "();\n";
+    }
+
+    private static void geraAcesso(StringBuilder sb, String tipo, String campo, int k) {
+        sb.append("    public ").append(tipo).append(" ").append(campo).append("(int fila) {\n");
+        sb.append("        switch (fila) {\n");
+        for (int i = 0; i < k; i++) {
+            sb.append("            case ").append(i).append(": return ").append(campo).append(i).append(";\n");
+        }
+        sb.append("            default: throw new IndexOutOfBoundsException(fila);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+    }
+
+    // Mesma conta de SimuladorRede.uniforme: a + u * (b - a).
+    private static String uniforme(double a, double b) {
+        return "(" + lit(a) + " + " + U + " * " + lit(b - a) + ")";
+    }
+
+    // Double.toString é exato na volta (o literal reproduz o mesmo double).
+    private static String lit(double v) {
+        return "(" + Double.toString(v) + ")";
+    }
+
+    private int capacidade(int i) {
+        int c = (int) paramsFilas.get(i)[0];
+        return c == 0 ? Integer.MAX_VALUE : c;
+    }
+
+    private int servidores(int i) {
+        return (int) paramsFilas.get(i)[1];
+    }
+
+    // ---------------- COMPILACAO EM MEMORIA ----------------
+    private static byte[] compila(String nome, String codigo) {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) {
+            throw new IllegalStateException("compilador Java indisponível (execute com um JDK, não um JRE)");
+        }
+
+        Map<String, ByteArrayOutputStream> classes = new HashMap<>();
+        StandardJavaFileManager padrao = javac.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        JavaFileManager memoria = new ForwardingJavaFileManager<JavaFileManager>(padrao) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location local, String classe, JavaFileObject.Kind tipo,
+                                                       FileObject irmao) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + classe + tipo.extension), tipo) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                        classes.put(classe, saida);
+                        return saida;
+                    }
+                };
+            }
+        };
+        JavaFileObject fonte = new SimpleJavaFileObject(URI.create("string:///" + nome + ".java"),
+                                                        JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignorarErros) {
+                return codigo;
+            }
+        };
+
+        DiagnosticCollector<JavaFileObject> diagnosticos = new DiagnosticCollector<>();
+        List<String> opcoes = List.of("-classpath", classpath(), "-proc:none", "-encoding", "UTF-8");
+        boolean ok = javac.getTask(null, memoria, diagnosticos, opcoes, null, List.of(fonte)).call();
+        if (!ok || !classes.containsKey(nome)) {
+            throw new IllegalStateException("falha ao compilar o motor gerado: " + diagnosticos.getDiagnostics());
+        }
+        return classes.get(nome).toByteArray();
+    }
+
+    // Onde estão as classes do simulador (para o código gerado enxergar AgendaHeap, MotorRede...).
+    private static String classpath() {
+        String proprio;
+        try {
+            proprio = Paths.get(CompiladorModelo.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                           .toString();
+        } catch (Exception e) {
+            proprio = ".";
+        }
+        return proprio + File.pathSeparator + System.getProperty("java.class.path");
+    }
+
+    // ---------------- VALIDACAO ----------------
+    // Executa o motor gerado (mesmo acima de FILAS_COMPILADAS) e o SimuladorRede com a mesma
+    // semente e compara todas as estatísticas (igualdade exata). Imprime as diferenças e
+    // devolve true se não houver.
+    public boolean valida(long semente, long limiteAleatorios) {
+        MotorRede motor = motorGerado(new FonteLcg48(semente), limiteAleatorios);
+        SimuladorRede sim = novoSimulador(new FonteLcg48(semente), limiteAleatorios);
+        motor.executar();
+        sim.executar();
+
+        List<String> diferencas = new ArrayList<>();
+        compara(diferencas, "tempo", sim.getTempo(), motor.getTempo());
+        compara(diferencas, "usados", sim.getUsados(), motor.getUsados());
+        compara(diferencas, "eventos", sim.getEventos(), motor.getEventos());
+        List<SimuladorRede.Fila> filas = sim.getFilas();
+        for (int i = 0; i < filas.size(); i++) {
+            SimuladorRede.Fila f = filas.get(i);
+            String nome = "fila " + (i + 1);
+            compara(diferencas, nome + " perdas", f.perdas, motor.perdas(i));
+            compara(diferencas, nome + " saidas", f.saidas, motor.saidas(i));
+            HistogramaEstados h = motor.tempos(i);
+            compara(diferencas, nome + " maior estado", f.tempos.maiorEstado(), h.maiorEstado());
+            for (int e = 0; e <= Math.max(f.tempos.maiorEstado(), h.maiorEstado()); e++) {
+                compara(diferencas, nome + " tempo no estado " + e, f.tempos.get(e), h.get(e));
+            }
+        }
+
+        if (diferencas.isEmpty()) {
+            System.out.printf("Validação OK: %d eventos, %d aleatórios, %d filas idênticos ao SimuladorRede%n",
+                              motor.getEventos(), motor.getUsados(), motor.numFilas());
+            return true;
+        }
+        System.out.println("Validação FALHOU (" + diferencas.size() + " diferenças):");
+        for (int i = 0; i < Math.min(20, diferencas.size()); i++) {
+            System.out.println("   " + diferencas.get(i));
+        }
+        return false;
+    }
+
+    private static void compara(List<String> diferencas, String nome, double esperado, double obtido) {
+        if (Double.compare(esperado, obtido) != 0) {
+            diferencas.add(nome + ": SimuladorRede=" + esperado + " compilado=" + obtido);
+        }
+    }
+
+    // Valida e compara o tempo dos dois motores nos modelos dados (model.yml) ou,
+    // sem argumentos, numa série de 300 filas. Mede o motor gerado mesmo acima de
+    // FILAS_COMPILADAS, para conferir o limite.
+    public static void main(String[] args) throws IOException {
+        List<CompiladorModelo> modelos = new ArrayList<>();
+        if (args.length == 0) {
+            int k = Integer.getInteger("filas", 300);
+            List<double[]> params = new ArrayList<>();
+            double[][] matriz = new double[k][k];
+            for (int i = 0; i < k; i++) {
+                params.add(new double[]{i % 2 == 0 ? 0 : 10, 2, 1.0, 3.0});
+                if (i + 1 < k) matriz[i][i + 1] = 0.9;
+                matriz[i][i] = 0.05;
+            }
+            modelos.add(new CompiladorModelo(1.0, 3.0, 0, params, new Roteamento(matriz), 1.0));
+        } else {
+            for (Path arquivo : ModeloYaml.arquivos(args)) {
+                modelos.add(ModeloYaml.carrega(arquivo).compilador());
+            }
+        }
+
+        long limite = Long.getLong("limite", 1000000);
+        for (CompiladorModelo m : modelos) {
+            m.valida(1, limite);
+            for (int rodada = 0; rodada < 20; rodada++) {
+                long t0 = System.nanoTime();
+                m.novoSimulador(new FonteLcg48(rodada), limite).executar();
+                long t1 = System.nanoTime();
+                m.motorGerado(new FonteLcg48(rodada), limite).executar();
+                long t2 = System.nanoTime();
+                if (rodada == 19) {
+                    System.out.printf("SimuladorRede: %.1f ms, compilado: %.1f ms (%d aleatórios)%n",
+                                      (t1 - t0) / 1e6, (t2 - t1) / 1e6, limite);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.*;
+
+// Detecção do transiente inicial (aquecimento) pela regra MSER-5.
+// A simulação começa com o sistema vazio; até a rede "encher", as filas passam tempo demais
+// nos estados baixos e a população média sai viesada para baixo.
+//
+// Durante o aquecimento o simulador entrega uma observação por janela de eventos: a
+// população média de cada fila na janela. As observações são agrupadas de 5 em 5 (lotes
+// Z_1..Z_m) e, para cada ponto de corte d, calcula-se
+//     MSER(d) = soma_{j>d} (Z_j - media_{j>d})^2 / (m - d)^2
+// O corte d* que minimiza MSER é o fim do transiente. Se d* cai na primeira metade da série,
+// o transiente terminou; senão a série ainda é curta demais e a verificação é repetida quando
+// o número de observações dobrar. O corte final é o maior d* entre as filas.
+public class DetectorAquecimento {
+
+    static final int LOTE = 5;
+    static final int MIN_LOTES = 20;
+    static final int MAX_OBSERVACOES = 1 << 16;
+    static final int JANELA_MINIMA = 32;
+
+    private final int numFilas;
+    private final long janela;          // eventos por observação
+    private double[][] observacoes;     // [fila][observação]
+    private double[] tempos;            // instante do fim de cada observação
+    private long[] eventos;             // eventos processados no fim de cada observação
+    private int n = 0;
+    private int proximaVerificacao = MIN_LOTES * LOTE;
+
+    private double tempoInicio;
+    private final double[] areaInicio;
+
+    // ---------------- RESULTADO ----------------
+    private boolean concluido = false;
+    private boolean detectado = false;
+    private double tempoTransiente;
+    private long eventosTransiente;
+
+    DetectorAquecimento(int numFilas) {
+        this.numFilas = numFilas;
+        this.janela = Math.max(JANELA_MINIMA, numFilas);
+        this.observacoes = new double[numFilas][1024];
+        this.tempos = new double[1024];
+        this.eventos = new long[1024];
+        this.areaInicio = new double[numFilas];
+    }
+
+    long janela() {
+        return janela;
+    }
+
+    boolean concluido() {
+        return concluido;
+    }
+
+    boolean detectado() {
+        return detectado;
+    }
+
+    double tempoTransiente() {
+        return tempoTransiente;
+    }
+
+    long eventosTransiente() {
+        return eventosTransiente;
+    }
+
+    // Início da primeira janela (filas acumuladas até 'tempo').
+    void inicia(double tempo, List<SimuladorRede.Fila> filas) {
+        marca(tempo, filas);
+    }
+
+    // Fecha uma janela (filas acumuladas até 'tempo'). Devolve true quando o transiente
+    // acabou de ser detectado; o simulador então zera as estatísticas das filas.
+    boolean observa(double tempo, long eventosAteAgora, List<SimuladorRede.Fila> filas) {
+        if (concluido) return false;
+        double duracao = tempo - tempoInicio;
+        if (duracao <= 0) return false;  // janela sem avanço de tempo: junta com a próxima
+
+        if (n == tempos.length) cresce();
+        for (int i = 0; i < numFilas; i++) {
+            observacoes[i][n] = (filas.get(i).area - areaInicio[i]) / duracao;
+        }
+        tempos[n] = tempo;
+        eventos[n] = eventosAteAgora;
+        n++;
+        marca(tempo, filas);
+
+        if (n >= proximaVerificacao) {
+            proximaVerificacao = n * 2;
+            int corte = corte();
+            if (corte >= 0) {
+                concluido = true;
+                detectado = true;
+                int ultima = corte * LOTE - 1;  // última observação descartada
+                tempoTransiente = ultima >= 0 ? tempos[ultima] : 0.0;
+                eventosTransiente = ultima >= 0 ? eventos[ultima] : 0;
+                return true;
+            }
+            if (n * 2 > MAX_OBSERVACOES) {
+                concluido = true;  // desiste: a série não estabiliza dentro do limite
+            }
+        }
+        return false;
+    }
+
+    private void marca(double tempo, List<SimuladorRede.Fila> filas) {
+        tempoInicio = tempo;
+        for (int i = 0; i < numFilas; i++) {
+            areaInicio[i] = filas.get(i).area;
+        }
+    }
+
+    private void cresce() {
+        int tam = tempos.length * 2;
+        for (int i = 0; i < numFilas; i++) observacoes[i] = Arrays.copyOf(observacoes[i], tam);
+        tempos = Arrays.copyOf(tempos, tam);
+        eventos = Arrays.copyOf(eventos, tam);
+    }
+
+    // Maior corte d* (em lotes) entre as filas, ou -1 se alguma fila ainda não estabilizou.
+    private int corte() {
+        int m = n / LOTE;
+        double[] z = new double[m];
+        int maior = 0;
+        for (int i = 0; i < numFilas; i++) {
+            for (int j = 0; j < m; j++) {
+                double s = 0;
+                for (int k = 0; k < LOTE; k++) s += observacoes[i][j * LOTE + k];
+                z[j] = s / LOTE;
+            }
+            int d = mser(z, m);
+            if (d < 0) return -1;
+            maior = Math.max(maior, d);
+        }
+        return maior;
+    }
+
+    // argmin de MSER(d) para d na primeira metade; -1 se o mínimo está na segunda metade.
+    // Somas de sufixo deixam o cálculo de todos os cortes em O(m).
+    static int mser(double[] z, int m) {
+        double soma = 0, somaQuad = 0;
+        double melhor = Double.POSITIVE_INFINITY;
+        int argmin = -1;
+        for (int d = m - 1; d >= 0; d--) {
+            soma += z[d];
+            somaQuad += z[d] * z[d];
+            int resto = m - d;
+            if (resto < 2) continue;
+            double media = soma / resto;
+            double desvios = Math.max(0.0, somaQuad - resto * media * media);
+            double valor = desvios / ((double) resto * resto);
+            if (valor <= melhor) {
+                melhor = valor;
+                argmin = d;
+            }
+        }
+        return argmin <= m / 2 ? argmin : -1;
+    }
+}
@@ -0,0 +1,270 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Distribuição de tempos (entre chegadas ou de serviço) usada pelo SimuladorRede.
+// Cada amostra consome exatamente um número do orçamento (Sorteador.u()), de modo que
+// 'limiteAleatorios' continua contando variáveis sorteadas, qualquer que seja a
+// distribuição. Métodos que precisam de mais de um uniforme (Erlang, hiperexponencial,
+// rejeição do zigurate) tiram os demais de Sorteador.extra(), fora do orçamento.
+// A determinística não sorteia nada.
+public interface Distribuicao {
+
+    // Fonte de uniformes em [0,1) para as amostras.
+    interface Sorteador {
+        double u();       // conta no orçamento
+        double extra();   // não conta
+    }
+
+    double amostra(Sorteador s);
+
+    double media();
+
+    // Texto para o relatório, completando "Atendimento ..." / "Chegadas ...".
+    String descricao();
+
+    // ---------------- FABRICAS ----------------
+    static Distribuicao uniforme(double min, double max) {
+        return new Uniforme(min, max);
+    }
+
+    static Distribuicao exponencial(double media) {
+        return new Exponencial(media);
+    }
+
+    // Soma de k exponenciais de média media/k (coeficiente de variação 1/sqrt(k)).
+    static Distribuicao erlang(int k, double media) {
+        return new Erlang(k, media);
+    }
+
+    static Distribuicao hiperexponencial(double[] probabilidades, double[] medias) {
+        return new Hiperexponencial(probabilidades, medias);
+    }
+
+    // Hiperexponencial de 2 fases com médias balanceadas, ajustada pela média e pelo
+    // coeficiente de variação ao quadrado (cv2 >= 1).
+    static Distribuicao hiperexponencial(double media, double cv2) {
+        if (cv2 < 1.0) throw new IllegalArgumentException("hiperexponencial exige cv2 >= 1 (cv2=" + cv2 + ")");
+        double p = 0.5 * (1.0 + Math.sqrt((cv2 - 1.0) / (cv2 + 1.0)));
+        return new Hiperexponencial(new double[]{p, 1.0 - p},
+                                    new double[]{media / (2.0 * p), media / (2.0 * (1.0 - p))});
+    }
+
+    // Lognormal com a média e o desvio padrão dados (do tempo, não do logaritmo).
+    static Distribuicao lognormal(double media, double desvio) {
+        return new LogNormal(media, desvio);
+    }
+
+    static Distribuicao deterministica(double valor) {
+        return new Deterministica(valor);
+    }
+
+    // Distribuição empírica de uma amostra de tempos observados (ex.: extraída de um trace).
+    static Distribuicao empirica(double[] observacoes) {
+        return new Empirica(observacoes);
+    }
+
+    // Um tempo por linha; linhas vazias e comentários (#) são ignorados.
+    static Distribuicao empirica(Path arquivo) throws IOException {
+        double[] v = new double[1024];
+        int n = 0;
+        try (BufferedReader in = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = in.readLine()) != null) {
+                int comentario = linha.indexOf('#');
+                if (comentario >= 0) linha = linha.substring(0, comentario);
+                linha = linha.trim();
+                if (linha.isEmpty()) continue;
+                if (n == v.length) v = Arrays.copyOf(v, n * 2);
+                v[n++] = Double.parseDouble(linha);
+            }
+        }
+        return new Empirica(Arrays.copyOf(v, n));
+    }
+
+    // ---------------- IMPLEMENTACOES ----------------
+    final class Uniforme implements Distribuicao {
+        final double min, max;
+
+        Uniforme(double min, double max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        public double amostra(Sorteador s) {
+            return min + s.u() * (max - min);
+        }
+
+        public double media() {
+            return (min + max) / 2.0;
+        }
+
+        public String descricao() {
+            return String.format("entre %.0f e %.0f", min, max);
+        }
+    }
+
+    final class Exponencial implements Distribuicao {
+        final double media;
+
+        Exponencial(double media) {
+            this.media = media;
+        }
+
+        public double amostra(Sorteador s) {
+            return media * Zigurate.exponencial(s.u(), s);
+        }
+
+        public double media() {
+            return media;
+        }
+
+        public String descricao() {
+            return String.format("exponencial, média %.2f", media);
+        }
+    }
+
+    final class Erlang implements Distribuicao {
+        final int k;
+        final double media;
+
+        Erlang(int k, double media) {
+            if (k < 1) throw new IllegalArgumentException("Erlang exige k >= 1");
+            this.k = k;
+            this.media = media;
+        }
+
+        public double amostra(Sorteador s) {
+            double soma = Zigurate.exponencial(s.u(), s);
+            for (int i = 1; i < k; i++) soma += Zigurate.exponencial(s.extra(), s);
+            return soma * (media / k);
+        }
+
+        public double media() {
+            return media;
+        }
+
+        public String descricao() {
+            return String.format("Erlang-%d, média %.2f", k, media);
+        }
+    }
+
+    final class Hiperexponencial implements Distribuicao {
+        final double[] acumuladas;
+        final double[] medias;
+        final double media;
+
+        Hiperexponencial(double[] probabilidades, double[] medias) {
+            if (probabilidades.length != medias.length || probabilidades.length == 0) {
+                throw new IllegalArgumentException("hiperexponencial: uma probabilidade por fase");
+            }
+            this.acumuladas = new double[probabilidades.length];
+            this.medias = medias.clone();
+            double soma = 0, m = 0;
+            for (int i = 0; i < probabilidades.length; i++) {
+                soma += probabilidades[i];
+                acumuladas[i] = soma;
+                m += probabilidades[i] * medias[i];
+            }
+            if (Math.abs(soma - 1.0) > 1e-9) {
+                throw new IllegalArgumentException("hiperexponencial: probabilidades somam " + soma);
+            }
+            this.media = m;
+        }
+
+        public double amostra(Sorteador s) {
+            double u = s.u();
+            int fase = 0;
+            while (fase < acumuladas.length - 1 && u >= acumuladas[fase]) fase++;
+            return medias[fase] * Zigurate.exponencial(s.extra(), s);
+        }
+
+        public double media() {
+            return media;
+        }
+
+        public String descricao() {
+            return String.format("hiperexponencial (%d fases), média %.2f", medias.length, media);
+        }
+    }
+
+    final class LogNormal implements Distribuicao {
+        final double media, desvio;
+        final double mu, sigma;
+
+        LogNormal(double media, double desvio) {
+            if (media <= 0) throw new IllegalArgumentException("lognormal exige média > 0");
+            this.media = media;
+            this.desvio = desvio;
+            double sigma2 = Math.log(1.0 + (desvio / media) * (desvio / media));
+            this.sigma = Math.sqrt(sigma2);
+            this.mu = Math.log(media) - sigma2 / 2.0;
+        }
+
+        public double amostra(Sorteador s) {
+            return Math.exp(mu + sigma * Zigurate.normal(s.u(), s));
+        }
+
+        public double media() {
+            return media;
+        }
+
+        public String descricao() {
+            return String.format("lognormal, média %.2f, desvio %.2f", media, desvio);
+        }
+    }
+
+    final class Deterministica implements Distribuicao {
+        final double valor;
+
+        Deterministica(double valor) {
+            this.valor = valor;
+        }
+
+        public double amostra(Sorteador s) {
+            return valor;
+        }
+
+        public double media() {
+            return valor;
+        }
+
+        public String descricao() {
+            return String.format("determinístico, %.2f", valor);
+        }
+    }
+
+    // Inversão por tabela: as observações ordenadas são os quantis; u escolhe a posição e
+    // o valor é interpolado entre os dois quantis vizinhos (O(1) por amostra).
+    final class Empirica implements Distribuicao {
+        final double[] quantis;
+        final double media;
+
+        Empirica(double[] observacoes) {
+            if (observacoes.length == 0) throw new IllegalArgumentException("distribuição empírica sem observações");
+            this.quantis = observacoes.clone();
+            Arrays.sort(quantis);
+            // média da inversa interpolada (trapézios entre quantis vizinhos)
+            double soma = 0;
+            for (int i = 0; i + 1 < quantis.length; i++) soma += (quantis[i] + quantis[i + 1]) / 2.0;
+            this.media = quantis.length > 1 ? soma / (quantis.length - 1) : quantis[0];
+        }
+
+        public double amostra(Sorteador s) {
+            double u = s.u();
+            if (quantis.length == 1) return quantis[0];
+            double pos = u * (quantis.length - 1);
+            int i = (int) pos;
+            return quantis[i] + (pos - i) * (quantis[i + 1] - quantis[i]);
+        }
+
+        public double media() {
+            return media;
+        }
+
+        public String descricao() {
+            return String.format("empírico (%d observações), média %.2f", quantis.length, media);
+        }
+    }
+}
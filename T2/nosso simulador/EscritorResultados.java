@@ -0,0 +1,292 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+// Gravação de Resultados em arquivo, para pós-processamento (pandas, R, numpy) sem
+// interpretar o texto do console. Três formatos:
+//  - JSON lines (.jsonl): um objeto por execução, com as filas e a distribuição de estados;
+//  - CSV (.csv): formato longo, uma linha por (execução, fila), colunas COLUNAS;
+//  - binário colunar (.bin): as mesmas colunas, em blocos de até LINHAS_BLOCO linhas.
+//
+// Todos escrevem num ByteBuffer direto que vai para o FileChannel quando enche; números
+// são convertidos para texto direto no buffer (inteiros sem String; reais pelo
+// Double.toString, que é exato e bem mais barato que String.format). Não são thread-safe:
+// quem grava de várias threads sincroniza no escritor (ver Varredura).
+public interface EscritorResultados extends Closeable {
+
+    void escreve(Resultado r) throws IOException;
+
+    // Colunas do CSV e do binário, nesta ordem; as COLUNAS_INTEIRAS primeiras são inteiras.
+    String[] COLUNAS = {
+        "semente", "ponto", "fila", "capacidade", "servidores", "usados", "eventos", "perdas", "saidas",
+        "tempo", "populacao", "vazao", "utilizacao", "resposta"
+    };
+    int COLUNAS_INTEIRAS = 9;
+
+    // ---------------- FABRICAS ----------------
+    // Escolhe o formato pela extensão (.jsonl/.json, .csv; qualquer outra = binário).
+    static EscritorResultados abre(Path arquivo) throws IOException {
+        String nome = arquivo.getFileName().toString().toLowerCase();
+        if (nome.endsWith(".jsonl") || nome.endsWith(".json")) return jsonLinhas(arquivo);
+        if (nome.endsWith(".csv")) return csv(arquivo);
+        return colunar(arquivo);
+    }
+
+    static EscritorResultados jsonLinhas(Path arquivo) throws IOException {
+        return new JsonLinhas(arquivo);
+    }
+
+    static EscritorResultados csv(Path arquivo) throws IOException {
+        return new Csv(arquivo);
+    }
+
+    static EscritorResultados colunar(Path arquivo) throws IOException {
+        return new Colunar(arquivo);
+    }
+
+    // ---------------- CANAL COM BUFFER ----------------
+    abstract class Canal implements EscritorResultados {
+        static final int TAMANHO_BUFFER = 1 << 20;
+        static final int MARGEM = 64;   // cabe qualquer número ou nome de campo
+
+        private final FileChannel canal;
+        final ByteBuffer buf = ByteBuffer.allocateDirect(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        private final byte[] digitos = new byte[20];
+
+        Canal(Path arquivo) throws IOException {
+            canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                     StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        // Garante 'bytes' livres no buffer, despejando o que já foi escrito.
+        final void reserva(int bytes) throws IOException {
+            if (buf.remaining() < bytes) despeja();
+        }
+
+        final void despeja() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) canal.write(buf);
+            buf.clear();
+        }
+
+        final void texto(String s) throws IOException {
+            reserva(s.length());
+            for (int i = 0; i < s.length(); i++) buf.put((byte) s.charAt(i));
+        }
+
+        final void caractere(char c) throws IOException {
+            reserva(1);
+            buf.put((byte) c);
+        }
+
+        final void inteiro(long v) throws IOException {
+            reserva(MARGEM);
+            if (v == Long.MIN_VALUE) {
+                texto(Long.toString(v));
+                return;
+            }
+            if (v < 0) {
+                buf.put((byte) '-');
+                v = -v;
+            }
+            int n = 0;
+            do {
+                digitos[n++] = (byte) ('0' + v % 10);
+                v /= 10;
+            } while (v != 0);
+            while (n > 0) buf.put(digitos[--n]);
+        }
+
+        // Inteiros exatos saem sem ".0"; NaN e infinitos como 'naoFinito'.
+        final void real(double v, String naoFinito) throws IOException {
+            if (Double.isNaN(v) || Double.isInfinite(v)) {
+                texto(naoFinito);
+            } else if (v == (long) v && Math.abs(v) < 1e15) {
+                inteiro((long) v);
+            } else {
+                texto(Double.toString(v));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                despeja();
+            } finally {
+                canal.close();
+            }
+        }
+    }
+
+    // ---------------- JSON LINES ----------------
+    final class JsonLinhas extends Canal {
+
+        JsonLinhas(Path arquivo) throws IOException {
+            super(arquivo);
+        }
+
+        public void escreve(Resultado r) throws IOException {
+            texto("{\"semente\":");
+            inteiro(r.semente);
+            texto(",\"ponto\":");
+            inteiro(r.ponto);
+            texto(",\"tempo\":");
+            real(r.tempo, "null");
+            texto(",\"tempoEstatisticas\":");
+            real(r.tempoEstatisticas, "null");
+            texto(",\"usados\":");
+            inteiro(r.usados);
+            texto(",\"eventos\":");
+            inteiro(r.eventos);
+            texto(r.esgotado ? ",\"esgotado\":true" : ",\"esgotado\":false");
+            texto(",\"filas\":[");
+            for (int i = 0; i < r.numFilas(); i++) {
+                if (i > 0) caractere(',');
+                texto("{\"fila\":");
+                inteiro(i + 1);
+                texto(",\"capacidade\":");
+                inteiro(r.capacidade[i]);
+                texto(",\"servidores\":");
+                inteiro(r.servidores[i]);
+                texto(",\"populacao\":");
+                real(r.populacao[i], "null");
+                texto(",\"vazao\":");
+                real(r.vazao[i], "null");
+                texto(",\"utilizacao\":");
+                real(r.utilizacao[i], "null");
+                texto(",\"resposta\":");
+                real(r.resposta[i], "null");
+                texto(",\"perdas\":");
+                inteiro(r.perdas[i]);
+                texto(",\"saidas\":");
+                inteiro(r.saidas[i]);
+                texto(",\"proporcoes\":[");
+                double[] p = r.proporcoes[i];
+                for (int e = 0; e < p.length; e++) {
+                    if (e > 0) caractere(',');
+                    real(p[e], "null");
+                }
+                texto("]}");
+            }
+            texto("]}\n");
+        }
+    }
+
+    // ---------------- CSV ----------------
+    final class Csv extends Canal {
+
+        Csv(Path arquivo) throws IOException {
+            super(arquivo);
+            texto(String.join(",", COLUNAS));
+            caractere('\n');
+        }
+
+        public void escreve(Resultado r) throws IOException {
+            for (int i = 0; i < r.numFilas(); i++) {
+                inteiro(r.semente);
+                caractere(',');
+                inteiro(r.ponto);
+                caractere(',');
+                inteiro(i + 1);
+                caractere(',');
+                inteiro(r.capacidade[i]);
+                caractere(',');
+                inteiro(r.servidores[i]);
+                caractere(',');
+                inteiro(r.usados);
+                caractere(',');
+                inteiro(r.eventos);
+                caractere(',');
+                inteiro(r.perdas[i]);
+                caractere(',');
+                inteiro(r.saidas[i]);
+                caractere(',');
+                real(r.tempo, "NaN");
+                caractere(',');
+                real(r.populacao[i], "NaN");
+                caractere(',');
+                real(r.vazao[i], "NaN");
+                caractere(',');
+                real(r.utilizacao[i], "NaN");
+                caractere(',');
+                real(r.resposta[i], "NaN");
+                caractere('\n');
+            }
+        }
+    }
+
+    // ---------------- BINARIO COLUNAR ----------------
+    // Cabeçalho: int MAGICO ("RES1"), int número de colunas e, por coluna, um byte de tipo
+    // ('l' = int64, 'd' = float64), um byte com o tamanho do nome e o nome em ASCII.
+    // Depois, blocos: int com o número de linhas L do bloco e, para cada coluna, os L
+    // valores seguidos. Tudo little-endian. As linhas ficam em memória só até completar um
+    // bloco; cada coluna de um bloco sai de uma vez (LongBuffer/DoubleBuffer.put), e quem lê
+    // pega uma coluna inteira com um único fromfile/readBuffer por bloco.
+    final class Colunar extends Canal {
+        static final int MAGICO = 0x31534552;   // "RES1" em little-endian
+        static final int LINHAS_BLOCO = 4096;
+
+        private final long[][] inteiras = new long[COLUNAS_INTEIRAS][LINHAS_BLOCO];
+        private final double[][] reais = new double[COLUNAS.length - COLUNAS_INTEIRAS][LINHAS_BLOCO];
+        private int linhas = 0;
+
+        Colunar(Path arquivo) throws IOException {
+            super(arquivo);
+            buf.putInt(MAGICO);
+            buf.putInt(COLUNAS.length);
+            for (int c = 0; c < COLUNAS.length; c++) {
+                buf.put((byte) (c < COLUNAS_INTEIRAS ? 'l' : 'd'));
+                buf.put((byte) COLUNAS[c].length());
+                buf.put(COLUNAS[c].getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+
+        public void escreve(Resultado r) throws IOException {
+            for (int i = 0; i < r.numFilas(); i++) {
+                long[][] l = inteiras;
+                l[0][linhas] = r.semente;
+                l[1][linhas] = r.ponto;
+                l[2][linhas] = i + 1;
+                l[3][linhas] = r.capacidade[i];
+                l[4][linhas] = r.servidores[i];
+                l[5][linhas] = r.usados;
+                l[6][linhas] = r.eventos;
+                l[7][linhas] = r.perdas[i];
+                l[8][linhas] = r.saidas[i];
+                double[][] d = reais;
+                d[0][linhas] = r.tempo;
+                d[1][linhas] = r.populacao[i];
+                d[2][linhas] = r.vazao[i];
+                d[3][linhas] = r.utilizacao[i];
+                d[4][linhas] = r.resposta[i];
+                if (++linhas == LINHAS_BLOCO) fechaBloco();
+            }
+        }
+
+        private void fechaBloco() throws IOException {
+            if (linhas == 0) return;
+            reserva(4 + COLUNAS.length * 8 * linhas);
+            buf.putInt(linhas);
+            for (long[] coluna : inteiras) {
+                buf.asLongBuffer().put(coluna, 0, linhas);
+                buf.position(buf.position() + 8 * linhas);
+            }
+            for (double[] coluna : reais) {
+                buf.asDoubleBuffer().put(coluna, 0, linhas);
+                buf.position(buf.position() + 8 * linhas);
+            }
+            linhas = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fechaBloco();
+            } finally {
+                super.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+public class Estatistica {
+
+    // ---------------- AMOSTRA (MEDIA E VARIANCIA INCREMENTAIS) ----------------
+    // Algoritmo de Welford: estável numericamente e sem guardar as observações.
+    static class Amostra {
+        long n = 0;
+        double media = 0.0;
+        double m2 = 0.0;
+
+        void adiciona(double x) {
+            n++;
+            double d = x - media;
+            media += d / n;
+            m2 += d * (x - media);
+        }
+
+        double variancia() {
+            return n > 1 ? m2 / (n - 1) : 0.0;
+        }
+
+        double desvioPadrao() {
+            return Math.sqrt(variancia());
+        }
+
+        // Semi-amplitude do intervalo de confiança t-Student para a média.
+        double semiAmplitude(double confianca) {
+            if (n < 2) return Double.NaN;
+            return quantilT(confianca, n - 1) * desvioPadrao() / Math.sqrt(n);
+        }
+    }
+
+    static Amostra amostra(double[] valores) {
+        Amostra a = new Amostra();
+        for (double v : valores) a.adiciona(v);
+        return a;
+    }
+
+    // ---------------- VARIAVEIS DE CONTROLE ----------------
+    // Troca cada y[j] por y[j] - b * c[j], onde c tem esperança zero conhecida e b =
+    // cov(y, c) / var(c) é estimado das próprias observações. A média continua sem viés
+    // (aproximadamente, pelo b estimado) e a variância cai pelo fator 1 - corr(y, c)^2.
+    static void aplicaControle(double[] y, double[] c) {
+        Amostra ay = amostra(y);
+        Amostra ac = amostra(c);
+        double cov = 0.0;
+        for (int j = 0; j < y.length; j++) cov += (y[j] - ay.media) * (c[j] - ac.media);
+        double var = ac.m2;
+        if (y.length < 3 || var <= 0.0) return;
+        double b = cov / var;
+        for (int j = 0; j < y.length; j++) y[j] -= b * c[j];
+    }
+
+    // ---------------- QUANTIS ----------------
+    // Quantil bicaudal da t-Student: P(|T| <= t) = confianca.
+    static double quantilT(double confianca, long gl) {
+        double p = 0.5 + confianca / 2.0;
+        if (gl == 1) return Math.tan(Math.PI * (p - 0.5));
+        if (gl == 2) return (2 * p - 1) / Math.sqrt(2 * p * (1 - p));
+
+        // Expansão de Cornish-Fisher a partir do quantil da normal.
+        double z = quantilNormal(p);
+        double z2 = z * z;
+        double v = gl;
+        double g1 = (z2 + 1) * z / 4;
+        double g2 = ((5 * z2 + 16) * z2 + 3) * z / 96;
+        double g3 = (((3 * z2 + 19) * z2 + 17) * z2 - 15) * z / 384;
+        double g4 = ((((79 * z2 + 776) * z2 + 1482) * z2 - 1920) * z2 - 945) * z / 92160;
+        return z + g1 / v + g2 / (v * v) + g3 / (v * v * v) + g4 / (v * v * v * v);
+    }
+
+    // Inversa da normal padrão (aproximação racional de Acklam, erro relativo < 1.2e-9).
+    static double quantilNormal(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                            6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                            3.754408661907416e+00};
+        double pBaixo = 0.02425;
+
+        if (p < pBaixo) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) /
+                   ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - pBaixo) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) /
+                    ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q /
+               (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,26 @@
+// Fonte de números pseudo-aleatórios uniformes em [0,1).
+// Cada simulador (ou réplica) tem a sua: nenhuma implementação é thread-safe, de propósito,
+// para não pagar sincronização a cada sorteio como o java.util.Random.
+public interface FonteAleatoria {
+
+    double proximo();
+
+    // Preenche destino[0..quantidade) de uma vez; implementações podem fazer um laço mais apertado.
+    default void preenche(double[] destino, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            destino[i] = proximo();
+        }
+    }
+
+    // Quantos valores ainda podem ser gerados; só fontes finitas (FonteLista) têm fim.
+    default long restantes() {
+        return Long.MAX_VALUE;
+    }
+
+    // Novo fluxo independente, que não se sobrepõe a este nem aos outros divididos dele, para
+    // usar em outra réplica/thread; os fluxos também podem ser divididos de novo (réplica e
+    // fluxos dedicados dela). FonteLcg48, com período de só 2^48, limita isso: até 1023
+    // divisões por fluxo e dois níveis abaixo da raiz; além disso lança IllegalStateException.
+    // FonteLista não divide.
+    FonteAleatoria divide();
+}
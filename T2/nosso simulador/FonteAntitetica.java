@@ -0,0 +1,46 @@
+// Variáveis antitéticas: a mesma sequência de outra fonte, com 1-U no lugar de cada U.
+// Uma réplica com FonteAntitetica(f) e outra com f tendem a errar para lados opostos
+// (chegadas curtas numa, longas na outra), e a média do par varia menos que a de duas
+// réplicas independentes. O efeito é maior nas distribuições por inversão (uniforme,
+// empírica); nas do zigurate o par ainda é válido, só menos correlacionado.
+//
+// 1-U cai em (0,1]; o único caso fora de [0,1), U = 0, vira o maior double abaixo de 1.
+public class FonteAntitetica implements FonteAleatoria {
+
+    private static final double QUASE_UM = Math.nextDown(1.0);
+
+    private final FonteAleatoria base;
+
+    public FonteAntitetica(FonteAleatoria base) {
+        this.base = base;
+    }
+
+    FonteAleatoria base() {
+        return base;
+    }
+
+    @Override
+    public double proximo() {
+        return Math.min(1.0 - base.proximo(), QUASE_UM);
+    }
+
+    @Override
+    public void preenche(double[] destino, int quantidade) {
+        base.preenche(destino, quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            destino[i] = Math.min(1.0 - destino[i], QUASE_UM);
+        }
+    }
+
+    @Override
+    public long restantes() {
+        return base.restantes();
+    }
+
+    // O fluxo dividido é o antitético do fluxo dividido da base: fluxos dedicados e réplicas
+    // continuam pareados com os da fonte original.
+    @Override
+    public FonteAleatoria divide() {
+        return new FonteAntitetica(base.divide());
+    }
+}
@@ -0,0 +1,30 @@
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// L64X128MixRandom (família LXM do java.util.random): período 2^64 * (2^128 - 1)
+// e fluxos divididos estatisticamente independentes.
+public class FonteL64X128 implements FonteAleatoria {
+
+    private static final RandomGeneratorFactory<RandomGenerator> FABRICA =
+        RandomGeneratorFactory.of("L64X128MixRandom");
+
+    private final RandomGenerator.SplittableGenerator rng;
+
+    public FonteL64X128(long semente) {
+        this((RandomGenerator.SplittableGenerator) FABRICA.create(semente));
+    }
+
+    private FonteL64X128(RandomGenerator.SplittableGenerator rng) {
+        this.rng = rng;
+    }
+
+    @Override
+    public double proximo() {
+        return rng.nextDouble();
+    }
+
+    @Override
+    public FonteAleatoria divide() {
+        return new FonteL64X128(rng.split());
+    }
+}
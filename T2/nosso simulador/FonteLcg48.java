@@ -0,0 +1,119 @@
+import java.io.IOException;
+
+// Gerador congruencial linear de 48 bits do M2/App: x = (a*x + c) mod 2^48,
+// com a = 25214903917 e c = 11. É a mesma recorrência do java.util.Random, e a semente
+// e a montagem do double seguem a dele, então new FonteLcg48(s) produz exatamente a
+// mesma sequência de new Random(s).nextDouble(), mas sem AtomicLong.
+public class FonteLcg48 implements FonteAleatoria {
+
+    static final long A = 0x5DEECE66DL;  // 25214903917
+    static final long C = 0xBL;          // 11
+    static final long MASCARA = (1L << 48) - 1;
+
+    // Divisão em fluxos: o período de 2^48 passos é cortado em BLOCOS_RAIZ blocos de 2^BITS_BLOCO
+    // passos (2^27 doubles). Cada fonte é dona de um intervalo de blocos e sorteia a partir do
+    // início dele; divide() entrega ao filho a próxima de RAMOS partes iguais do intervalo, e a
+    // primeira parte fica para a própria fonte. A raiz (2^20 blocos) tem até 1023 filhos de 1024
+    // blocos; cada filho, até 1023 netos de um bloco; um neto não divide. Réplicas divididas da
+    // raiz e os fluxos dedicados de cada réplica nunca se sobrepõem enquanto cada fluxo usar
+    // menos que a sua parte (2^27 doubles no filho e no neto, 2^37 na raiz).
+    static final int BITS_BLOCO = 28;
+    static final long BLOCOS_RAIZ = 1L << (48 - BITS_BLOCO);
+    static final int RAMOS = 1 << 10;
+
+    private long estado;
+    private final long origem;   // estado no passo 0 do período (o da semente da raiz)
+    private final long bloco;    // primeiro bloco do intervalo
+    private final long blocos;   // tamanho do intervalo
+    private int filhos = 0;
+
+    public FonteLcg48(long semente) {
+        this((semente ^ A) & MASCARA, 0, BLOCOS_RAIZ);
+    }
+
+    private FonteLcg48(long origem, long bloco, long blocos) {
+        this.origem = origem;
+        this.bloco = bloco;
+        this.blocos = blocos;
+        this.estado = saltado(origem, bloco << BITS_BLOCO);
+    }
+
+    private int bits(int n) {
+        estado = (estado * A + C) & MASCARA;
+        return (int) (estado >>> (48 - n));
+    }
+
+    @Override
+    public double proximo() {
+        return (((long) bits(26) << 27) + bits(27)) * 0x1.0p-53;
+    }
+
+    @Override
+    public void preenche(double[] destino, int quantidade) {
+        long x = estado;
+        for (int i = 0; i < quantidade; i++) {
+            x = (x * A + C) & MASCARA;
+            long alto = x >>> 22;
+            x = (x * A + C) & MASCARA;
+            long baixo = x >>> 21;
+            destino[i] = ((alto << 27) + baixo) * 0x1.0p-53;
+        }
+        estado = x;
+    }
+
+    // Avança 'passos' iterações em O(log passos).
+    public void salta(long passos) {
+        estado = saltado(estado, passos);
+    }
+
+    // x depois de 'passos' iterações, compondo a transformação afim x -> a*x + c.
+    static long saltado(long x, long passos) {
+        long multAcum = 1, somaAcum = 0;
+        long mult = A, soma = C;
+        while (passos != 0) {
+            if ((passos & 1) != 0) {
+                multAcum = (multAcum * mult) & MASCARA;
+                somaAcum = (somaAcum * mult + soma) & MASCARA;
+            }
+            soma = ((mult + 1) * soma) & MASCARA;
+            mult = (mult * mult) & MASCARA;
+            passos >>>= 1;
+        }
+        return (multAcum * x + somaAcum) & MASCARA;
+    }
+
+    // O filho começa no seu intervalo, independente de quanto esta fonte já sorteou.
+    @Override
+    public FonteAleatoria divide() {
+        long parte = blocos / RAMOS;
+        if (parte == 0) {
+            throw new IllegalStateException("FonteLcg48: fluxo de um bloco não se divide (até dois níveis abaixo da raiz)");
+        }
+        if (filhos == RAMOS - 1) {
+            throw new IllegalStateException("FonteLcg48: no máximo " + (RAMOS - 1) + " divisões por fluxo");
+        }
+        filhos++;
+        return new FonteLcg48(origem, bloco + filhos * parte, parte);
+    }
+
+    long estado() {
+        return estado;
+    }
+
+    // ---------------- CHECKPOINT ----------------
+    void grava(Checkpoint.Saida s) throws IOException {
+        s.longo(estado);
+        s.longo(origem);
+        s.longo(bloco);
+        s.longo(blocos);
+        s.inteiro(filhos);
+    }
+
+    static FonteLcg48 le(Checkpoint.Entrada e) throws IOException {
+        long estado = e.longo();
+        FonteLcg48 f = new FonteLcg48(e.longo(), e.longo(), e.longo());
+        f.estado = estado;
+        f.filhos = e.inteiro();
+        return f;
+    }
+}
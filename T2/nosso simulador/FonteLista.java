@@ -0,0 +1,39 @@
+// Reproduz uma lista fixa de números, como a opção 'rndnumbers' do model.yml.
+// Serve para conferir uma execução passo a passo contra o simulator.jar.
+public class FonteLista implements FonteAleatoria {
+
+    private final double[] valores;
+    private int proximo = 0;
+
+    public FonteLista(double[] valores) {
+        this.valores = valores;
+    }
+
+    @Override
+    public double proximo() {
+        if (proximo >= valores.length) {
+            throw new IllegalStateException("lista de números aleatórios esgotada (" + valores.length + " valores)");
+        }
+        return valores[proximo++];
+    }
+
+    @Override
+    public void preenche(double[] destino, int quantidade) {
+        if (quantidade > restantes()) {
+            throw new IllegalStateException("lista de números aleatórios esgotada (" + valores.length + " valores)");
+        }
+        System.arraycopy(valores, proximo, destino, 0, quantidade);
+        proximo += quantidade;
+    }
+
+    @Override
+    public long restantes() {
+        return valores.length - proximo;
+    }
+
+    // Uma lista fixa é um único fluxo; não dá para dividir sem repetir valores.
+    @Override
+    public FonteAleatoria divide() {
+        throw new UnsupportedOperationException("FonteLista não pode ser dividida");
+    }
+}
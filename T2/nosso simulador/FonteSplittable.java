@@ -0,0 +1,25 @@
+import java.util.SplittableRandom;
+
+// SplitMix64 do JDK: rápido, sem sincronização e com split() nativo.
+public class FonteSplittable implements FonteAleatoria {
+
+    private final SplittableRandom rng;
+
+    public FonteSplittable(long semente) {
+        this(new SplittableRandom(semente));
+    }
+
+    private FonteSplittable(SplittableRandom rng) {
+        this.rng = rng;
+    }
+
+    @Override
+    public double proximo() {
+        return rng.nextDouble();
+    }
+
+    @Override
+    public FonteAleatoria divide() {
+        return new FonteSplittable(rng.split());
+    }
+}
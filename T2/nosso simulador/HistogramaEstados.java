@@ -0,0 +1,162 @@
+import java.io.IOException;
+import java.util.Arrays;
+
+// Tempo acumulado por estado (número de clientes) de uma fila, sem teto fixo.
+// Os estados baixos, onde a fila passa quase todo o tempo, ficam num array denso que
+// cresce dobrando até LIMITE_DENSO. Acima disso os estados vão para uma tabela hash
+// de chaves int / valores double (endereçamento aberto), que só ocupa memória para os
+// estados realmente visitados na cauda.
+public class HistogramaEstados {
+
+    static final int LIMITE_DENSO = 1 << 16;
+    private static final int DENSO_INICIAL = 1024;
+    private static final int VAZIO = 0;  // estados esparsos são >= LIMITE_DENSO, então 0 nunca é chave
+
+    // ---------------- PARTE DENSA ----------------
+    private double[] denso;
+
+    // ---------------- PARTE ESPARSA ----------------
+    private int[] chaves;
+    private double[] valores;
+    private int esparsos = 0;
+
+    private int maiorEstado = 0;
+
+    // 'capacidade' é a capacidade da fila (Integer.MAX_VALUE = infinita).
+    HistogramaEstados(int capacidade) {
+        long estados = (long) capacidade + 1;
+        this.denso = new double[(int) Math.min(estados, Math.min(DENSO_INICIAL, LIMITE_DENSO))];
+    }
+
+    // ---------------- ATUALIZACAO ----------------
+    void adiciona(int estado, double delta) {
+        if (estado > maiorEstado) maiorEstado = estado;
+        if (estado < denso.length) {
+            denso[estado] += delta;
+        } else if (estado < LIMITE_DENSO) {
+            int tam = denso.length;
+            while (tam <= estado) tam *= 2;
+            denso = Arrays.copyOf(denso, Math.min(tam, LIMITE_DENSO));
+            denso[estado] += delta;
+        } else {
+            adicionaEsparso(estado, delta);
+        }
+    }
+
+    private void adicionaEsparso(int estado, double delta) {
+        if (chaves == null) {
+            chaves = new int[64];
+            valores = new double[64];
+        }
+        int i = posicao(chaves, estado);
+        if (chaves[i] == VAZIO) {
+            if ((esparsos + 1) * 2 > chaves.length) {
+                rehash();
+                i = posicao(chaves, estado);
+            }
+            chaves[i] = estado;
+            esparsos++;
+        }
+        valores[i] += delta;
+    }
+
+    // Sondagem linear; tabela sempre com potência de 2 e no máximo metade cheia.
+    private static int posicao(int[] chaves, int estado) {
+        int mascara = chaves.length - 1;
+        int i = (estado * 0x9E3779B9) >>> 7 & mascara;
+        while (chaves[i] != VAZIO && chaves[i] != estado) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private void rehash() {
+        int[] velhasChaves = chaves;
+        double[] velhosValores = valores;
+        chaves = new int[velhasChaves.length * 2];
+        valores = new double[velhasChaves.length * 2];
+        for (int j = 0; j < velhasChaves.length; j++) {
+            if (velhasChaves[j] != VAZIO) {
+                int i = posicao(chaves, velhasChaves[j]);
+                chaves[i] = velhasChaves[j];
+                valores[i] = velhosValores[j];
+            }
+        }
+    }
+
+    void zera() {
+        Arrays.fill(denso, 0.0);
+        if (chaves != null) {
+            Arrays.fill(chaves, VAZIO);
+            Arrays.fill(valores, 0.0);
+        }
+        esparsos = 0;
+        maiorEstado = 0;
+    }
+
+    // ---------------- CHECKPOINT ----------------
+    // Só a parte densa até o maior estado e os pares (estado, tempo) da parte esparsa.
+    void grava(Checkpoint.Saida s) throws IOException {
+        int densos = Math.min(denso.length, maiorEstado + 1);
+        s.inteiro(maiorEstado);
+        s.inteiro(densos);
+        s.reais(denso, 0, densos);
+        s.inteiro(esparsos);
+        if (chaves != null) {
+            for (int j = 0; j < chaves.length; j++) {
+                if (chaves[j] != VAZIO) {
+                    s.inteiro(chaves[j]);
+                    s.real(valores[j]);
+                }
+            }
+        }
+    }
+
+    void restaura(Checkpoint.Entrada e) throws IOException {
+        zera();
+        int maior = e.inteiro();
+        int densos = e.inteiro();
+        if (densos > denso.length) {
+            int tam = denso.length;
+            while (tam < densos) tam *= 2;
+            denso = new double[Math.min(tam, LIMITE_DENSO)];
+        }
+        e.reais(denso, 0, densos);
+        for (int n = e.inteiro(); n > 0; n--) {
+            int estado = e.inteiro();
+            adicionaEsparso(estado, e.real());
+        }
+        maiorEstado = maior;
+    }
+
+    // ---------------- CONSULTA ----------------
+    double get(int estado) {
+        if (estado < denso.length) return denso[estado];
+        if (estado < LIMITE_DENSO || chaves == null) return 0.0;
+        int i = posicao(chaves, estado);
+        return chaves[i] == VAZIO ? 0.0 : valores[i];
+    }
+
+    int maiorEstado() {
+        return maiorEstado;
+    }
+
+    // Quantos estados acima de LIMITE_DENSO foram visitados (guardados na parte esparsa).
+    int estadosEsparsos() {
+        return esparsos;
+    }
+
+    // Soma de estado * tempo, base da população média.
+    double somaPonderada() {
+        double soma = 0.0;
+        for (int i = 0; i < denso.length; i++) {
+            soma += i * denso[i];
+        }
+        if (chaves != null) {
+            for (int j = 0; j < chaves.length; j++) {
+                if (chaves[j] != VAZIO) soma += (double) chaves[j] * valores[j];
+            }
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,176 @@
+import java.io.PrintStream;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.*;
+
+// Instrumentação ao vivo das execuções do SimuladorRede: eventos do JDK Flight Recorder e
+// um amostrador periódico no console.
+//
+// O laço de eventos não paga nada por evento: os contadores de trabalho (eventos, 'usados',
+// tempo) já são campos do simulador, confinados à thread que executa. A cada 2^BITS_PUBLICACAO
+// eventos o simulador copia esses valores e o tamanho da agenda para os campos voláteis
+// de Contadores (publica); o JFR e o amostrador só leem essa cópia, de outra thread.
+//
+// Com JFR: java -XX:StartFlightRecording=filename=sim.jfr App
+//          jfr print --events simulador.Amostra sim.jfr
+public final class Instrumentacao {
+
+    private Instrumentacao() {
+    }
+
+    static final int BITS_PUBLICACAO = 16;
+    static final long MASCARA_PUBLICACAO = (1L << BITS_PUBLICACAO) - 1;
+
+    private static final AtomicInteger sequencia = new AtomicInteger();
+    private static final Set<Contadores> ativos = ConcurrentHashMap.newKeySet();
+
+    // O JFR só é tocado quando está ativo (-XX:StartFlightRecording ou jcmd JFR.start):
+    // carregar as classes de evento custa ~150 ms na partida, o que pesa em execuções curtas.
+    private static volatile boolean jfrAtivo;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                FlightRecorder.addPeriodicEvent(Amostra.class, Instrumentacao::amostraJfr);
+                jfrAtivo = true;
+            }
+        });
+    }
+
+    // ---------------- CONTADORES DE UMA SIMULACAO ----------------
+    static final class Contadores {
+        final String nome = "rede-" + sequencia.incrementAndGet();
+        volatile long limite;
+        volatile long eventos;
+        volatile long usados;
+        volatile double tempo;
+        volatile int agenda;
+        volatile int agendaMaxima;
+        volatile long inicioNanos;
+        private Execucao execucao;
+
+        // Chamado pela thread do simulador, a cada 2^BITS_PUBLICACAO eventos e no fim.
+        void publica(long eventos, long usados, double tempo, int agenda) {
+            this.eventos = eventos;
+            this.usados = usados;
+            this.tempo = tempo;
+            this.agenda = agenda;
+            if (agenda > agendaMaxima) agendaMaxima = agenda;
+        }
+
+        double segundos() {
+            return Math.max(1e-9, (System.nanoTime() - inicioNanos) / 1e9);
+        }
+    }
+
+    // ---------------- EVENTOS JFR ----------------
+    @Name("simulador.Amostra")
+    @Label("Amostra da simulação")
+    @Category("Simulador")
+    @Description("Contadores de uma simulação em andamento, lidos periodicamente")
+    @Period("1 s")
+    @StackTrace(false)
+    static final class Amostra extends Event {
+        @Label("Simulação") String simulacao;
+        @Label("Eventos") long eventos;
+        @Label("Eventos por segundo") double eventosPorSegundo;
+        @Label("Tamanho da agenda") int agenda;
+        @Label("Maior agenda publicada") int agendaMaxima;
+        @Label("Aleatórios usados") long usados;
+        @Label("Limite de aleatórios") long limite;
+        @Label("Tempo simulado") double tempoSimulado;
+        @Label("Tempo simulado por segundo real") double razaoTempo;
+    }
+
+    @Name("simulador.Execucao")
+    @Label("Execução da simulação")
+    @Category("Simulador")
+    @Description("Uma chamada de executar/executarAtePrecisao, do início ao fim")
+    @StackTrace(false)
+    static final class Execucao extends Event {
+        @Label("Simulação") String simulacao;
+        @Label("Eventos") long eventos;
+        @Label("Aleatórios usados") long usados;
+        @Label("Limite de aleatórios") long limite;
+        @Label("Tempo simulado") double tempoSimulado;
+        @Label("Maior agenda publicada") int agendaMaxima;
+        @Label("Fim") String fim;
+    }
+
+    // ---------------- CICLO DE VIDA ----------------
+    static void inicia(Contadores c, long limite) {
+        c.limite = limite;
+        c.eventos = 0;
+        c.usados = 0;
+        c.tempo = 0.0;
+        c.agenda = 0;
+        c.agendaMaxima = 0;
+        c.inicioNanos = System.nanoTime();
+        if (jfrAtivo) {
+            c.execucao = new Execucao();
+            c.execucao.begin();
+        }
+        ativos.add(c);
+    }
+
+    static void termina(Contadores c, String fim) {
+        ativos.remove(c);
+        Execucao e = c.execucao;
+        c.execucao = null;
+        if (e == null) return;
+        e.end();
+        if (e.shouldCommit()) {
+            e.simulacao = c.nome;
+            e.eventos = c.eventos;
+            e.usados = c.usados;
+            e.limite = c.limite;
+            e.tempoSimulado = c.tempo;
+            e.agendaMaxima = c.agendaMaxima;
+            e.fim = fim;
+            e.commit();
+        }
+    }
+
+    // Hook periódico do JFR (thread do JFR): uma amostra por simulação em andamento.
+    private static void amostraJfr() {
+        for (Contadores c : ativos) {
+            Amostra a = new Amostra();
+            double s = c.segundos();
+            a.simulacao = c.nome;
+            a.eventos = c.eventos;
+            a.eventosPorSegundo = c.eventos / s;
+            a.agenda = c.agenda;
+            a.agendaMaxima = c.agendaMaxima;
+            a.usados = c.usados;
+            a.limite = c.limite;
+            a.tempoSimulado = c.tempo;
+            a.razaoTempo = c.tempo / s;
+            a.commit();
+        }
+    }
+
+    // ---------------- AMOSTRADOR NO CONSOLE ----------------
+    // Imprime em 'out', a cada 'periodoMs', uma linha por simulação em andamento.
+    // Fechar o retorno para parar.
+    static AutoCloseable iniciaAmostrador(long periodoMs, PrintStream out) {
+        ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "amostrador-simulacao");
+            t.setDaemon(true);
+            return t;
+        });
+        exec.scheduleAtFixedRate(() -> {
+            for (Contadores c : ativos) out.println(linha(c));
+        }, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+        return exec::shutdownNow;
+    }
+
+    static String linha(Contadores c) {
+        double s = c.segundos();
+        return String.format("[%s %.1fs] %d eventos (%.0f/s), agenda %d (máx %d), aleatórios %d de %d (%.1f%%), "
+                             + "tempo simulado %.2f (%.1f por segundo real)",
+                             c.nome, s, c.eventos, c.eventos / s, c.agenda, c.agendaMaxima, c.usados, c.limite,
+                             c.limite > 0 ? 100.0 * c.usados / c.limite : 0.0, c.tempo, c.tempo / s);
+    }
+}
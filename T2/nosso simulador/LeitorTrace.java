@@ -0,0 +1,336 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+// Leitor sequencial de traces de chegadas reais para o SimuladorRede (modo replay).
+// Cada registro tem o instante de chegada e, opcionalmente, a demanda de serviço e a fila
+// de destino (1 = Fila 1; 0 ou ausente = fila de entrada do simulador).
+//
+// Formatos:
+//  - CSV/texto: "chegada[,servico[,fila]]" por linha (vírgula ou ponto e vírgula);
+//    cabeçalho (antes dos dados), linhas vazias e comentários (#) são ignorados; campo vazio = ausente.
+//  - Binário (.bin): cabeçalho "TRC1" + int de flags (1 = tem serviço, 2 = tem fila),
+//    depois registros little-endian {double chegada, [double servico], [int fila]}.
+//    main() converte CSV para binário.
+//
+// O arquivo é lido por janelas mapeadas em memória (FileChannel.map), que avançam junto
+// com a leitura: os dados ficam fora do heap, no cache de páginas do sistema, e os números
+// são interpretados direto dos bytes mapeados, sem String por linha. Traces de vários GB
+// passam com memória constante.
+public class LeitorTrace implements Closeable {
+
+    static final long JANELA = 64L << 20;
+    static final int MAGICO = 0x31435254;   // "TRC1" em little-endian
+    static final int TEM_SERVICO = 1;
+    static final int TEM_FILA = 2;
+
+    private static final double[] POT10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Path arquivo;
+    private final FileChannel canal;
+    private final long tamanho;
+    private final boolean binario;
+    private final long inicioDados;
+    private boolean temServico, temFila;
+    private int tamanhoRegistro;   // só no binário
+    private int colunas = -1;      // só no CSV: definido pela primeira linha de dados
+    private final double[] campos = new double[3];
+
+    private MappedByteBuffer janela;
+    private long inicioJanela;
+    private long posicao;
+    private long linha;
+    private long registros;
+
+    // ---------------- REGISTRO ATUAL ----------------
+    private double chegada = Double.NEGATIVE_INFINITY;
+    private double servico;
+    private int fila;
+
+    public static LeitorTrace abre(Path arquivo) throws IOException {
+        String nome = arquivo.getFileName().toString().toLowerCase();
+        return new LeitorTrace(arquivo, nome.endsWith(".bin"));
+    }
+
+    private LeitorTrace(Path arquivo, boolean binario) throws IOException {
+        this.arquivo = arquivo;
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.tamanho = canal.size();
+        this.binario = binario;
+        if (binario) {
+            if (tamanho < 8) throw erro("arquivo binário sem cabeçalho");
+            mapeia(0);
+            if (janela.getInt(0) != MAGICO) throw erro("cabeçalho binário inválido (esperado TRC1)");
+            int flags = janela.getInt(4);
+            temServico = (flags & TEM_SERVICO) != 0;
+            temFila = (flags & TEM_FILA) != 0;
+            tamanhoRegistro = 8 + (temServico ? 8 : 0) + (temFila ? 4 : 0);
+            inicioDados = 8;
+        } else {
+            inicioDados = 0;
+            // lê a primeira linha de dados para saber as colunas e volta
+            if (proximo()) {
+                volta();
+            }
+        }
+        posicao = inicioDados;
+    }
+
+    // ---------------- CONSULTA ----------------
+    double chegada() {
+        return chegada;
+    }
+
+    // Demanda de serviço do registro atual, ou NaN se o trace não traz serviço.
+    double servico() {
+        return servico;
+    }
+
+    // Fila de destino (a partir de 0), ou -1 para a fila de entrada do simulador.
+    int fila() {
+        return fila;
+    }
+
+    boolean temServico() {
+        return temServico;
+    }
+
+    long registros() {
+        return registros;
+    }
+
+    // Volta ao primeiro registro.
+    void volta() {
+        posicao = inicioDados;
+        linha = 0;
+        registros = 0;
+        chegada = Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public void close() throws IOException {
+        janela = null;
+        canal.close();
+    }
+
+    // ---------------- LEITURA ----------------
+    // Avança para o próximo registro; false no fim do arquivo.
+    boolean proximo() throws IOException {
+        double anterior = chegada;
+        boolean ok = binario ? proximoBinario() : proximoTexto();
+        if (!ok) return false;
+        if (chegada < anterior) {
+            throw erro("registro " + registros + ": chegada " + chegada + " antes da anterior " + anterior);
+        }
+        return true;
+    }
+
+    private boolean proximoBinario() throws IOException {
+        if (posicao + tamanhoRegistro > tamanho) return false;
+        if (janela == null || posicao < inicioJanela || posicao + tamanhoRegistro > inicioJanela + janela.limit()) {
+            mapeia(posicao);
+        }
+        int i = (int) (posicao - inicioJanela);
+        chegada = janela.getDouble(i);
+        i += 8;
+        servico = Double.NaN;
+        if (temServico) {
+            servico = janela.getDouble(i);
+            i += 8;
+        }
+        fila = -1;
+        if (temFila) fila = janela.getInt(i) - 1;
+        posicao += tamanhoRegistro;
+        registros++;
+        return true;
+    }
+
+    private boolean proximoTexto() throws IOException {
+        for (;;) {
+            if (posicao >= tamanho) return false;
+            if (janela == null || posicao < inicioJanela || posicao >= inicioJanela + janela.limit()) {
+                mapeia(posicao);
+            }
+            int ini = (int) (posicao - inicioJanela);
+            int lim = janela.limit();
+            int fim = ini;
+            while (fim < lim && janela.get(fim) != '\n') fim++;
+            if (fim == lim && inicioJanela + lim < tamanho) {
+                // linha cortada pela janela: remapeia a partir do início dela
+                if (ini == 0) throw erro("linha " + (linha + 1) + " maior que a janela de leitura");
+                mapeia(posicao);
+                continue;
+            }
+            posicao = inicioJanela + fim + 1;
+            linha++;
+
+            int corte = ini;
+            while (corte < fim && janela.get(corte) != '#') corte++;
+            if (corte > ini && janela.get(corte - 1) == '\r') corte--;
+            if (linhaDeDados(ini, corte)) {
+                registros++;
+                return true;
+            }
+        }
+    }
+
+    // Interpreta os campos de [ini, fim); false se a linha é vazia ou cabeçalho. Cabeçalho só
+    // antes da primeira linha de dados: depois disso, uma linha que não começa por número é
+    // erro (linha corrompida no meio do log), não uma chegada a menos.
+    private boolean linhaDeDados(int ini, int fim) throws IOException {
+        int p = ini;
+        while (p < fim && espaco(janela.get(p))) p++;
+        if (p == fim) return false;
+        byte c = janela.get(p);
+        if (!(c >= '0' && c <= '9') && c != '.' && c != '-' && c != '+') {
+            if (registros > 0) throw erro("linha " + linha + ": não numérica depois dos dados");
+            return false;  // cabeçalho
+        }
+
+        campos[0] = campos[1] = campos[2] = Double.NaN;
+        int n = 0;
+        int inicioCampo = ini;
+        for (int i = ini; i <= fim; i++) {
+            if (i == fim || janela.get(i) == ',' || janela.get(i) == ';') {
+                if (n == 3) throw erro("linha " + linha + ": mais de 3 colunas");
+                campos[n++] = numero(inicioCampo, i);
+                inicioCampo = i + 1;
+            }
+        }
+        if (colunas < 0) {
+            colunas = n;
+            temServico = n >= 2;
+            temFila = n >= 3;
+        } else if (n != colunas) {
+            throw erro("linha " + linha + ": " + n + " colunas, esperado " + colunas);
+        }
+        if (Double.isNaN(campos[0])) throw erro("linha " + linha + ": sem instante de chegada");
+        chegada = campos[0];
+        servico = campos[1];
+        fila = Double.isNaN(campos[2]) ? -1 : (int) campos[2] - 1;
+        return true;
+    }
+
+    // Número decimal direto dos bytes. Com até 15 dígitos significativos e expoente
+    // decimal até 22 a conta m * 10^e (ou m / 10^e) é exata antes do arredondamento final,
+    // então o resultado é o mesmo de Double.parseDouble; fora disso usa o parseDouble.
+    private double numero(int ini, int fim) throws IOException {
+        while (ini < fim && espaco(janela.get(ini))) ini++;
+        while (fim > ini && espaco(janela.get(fim - 1))) fim--;
+        if (ini == fim) return Double.NaN;
+
+        int i = ini;
+        boolean negativo = false;
+        byte c = janela.get(i);
+        if (c == '-' || c == '+') {
+            negativo = c == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digitos = 0, exp10 = 0;
+        boolean ponto = false, algum = false;
+        for (; i < fim; i++) {
+            c = janela.get(i);
+            if (c >= '0' && c <= '9') {
+                algum = true;
+                if (digitos < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digitos++;
+                    if (ponto) exp10--;
+                } else if (!ponto) {
+                    exp10++;
+                }
+            } else if (c == '.' && !ponto) {
+                ponto = true;
+            } else {
+                break;
+            }
+        }
+        if (i < fim && (janela.get(i) == 'e' || janela.get(i) == 'E')) {
+            i++;
+            boolean expNegativo = false;
+            if (i < fim && (janela.get(i) == '-' || janela.get(i) == '+')) {
+                expNegativo = janela.get(i) == '-';
+                i++;
+            }
+            int e = 0;
+            boolean algumExp = false;
+            for (; i < fim && janela.get(i) >= '0' && janela.get(i) <= '9'; i++) {
+                if (e < 100000) e = e * 10 + (janela.get(i) - '0');
+                algumExp = true;
+            }
+            if (!algumExp) algum = false;
+            exp10 += expNegativo ? -e : e;
+        }
+        if (!algum || i != fim) throw erro("linha " + linha + ": número inválido '" + texto(ini, fim) + "'");
+
+        double v;
+        if (digitos <= 15 && exp10 >= -22 && exp10 <= 22) {
+            v = exp10 >= 0 ? mantissa * POT10[exp10] : mantissa / POT10[-exp10];
+        } else {
+            v = Math.abs(Double.parseDouble(texto(ini, fim)));
+        }
+        return negativo ? -v : v;
+    }
+
+    private String texto(int ini, int fim) {
+        byte[] b = new byte[fim - ini];
+        for (int i = 0; i < b.length; i++) b[i] = janela.get(ini + i);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static boolean espaco(byte c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private void mapeia(long inicio) throws IOException {
+        long tam = Math.min(JANELA, tamanho - inicio);
+        janela = canal.map(FileChannel.MapMode.READ_ONLY, inicio, tam);
+        janela.order(ByteOrder.LITTLE_ENDIAN);
+        inicioJanela = inicio;
+    }
+
+    private IOException erro(String msg) {
+        return new IOException(arquivo + ": " + msg);
+    }
+
+    // ---------------- CONVERSAO ----------------
+    // Grava o trace no formato binário (mais compacto e sem interpretação de texto).
+    static long converte(Path origem, Path destino) throws IOException {
+        try (LeitorTrace in = abre(origem);
+             FileChannel out = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGICO);
+            buf.putInt((in.temServico ? TEM_SERVICO : 0) | (in.temFila ? TEM_FILA : 0));
+            while (in.proximo()) {
+                if (buf.remaining() < 20) {
+                    buf.flip();
+                    while (buf.hasRemaining()) out.write(buf);
+                    buf.clear();
+                }
+                buf.putDouble(in.chegada);
+                if (in.temServico) buf.putDouble(in.servico);
+                if (in.temFila) buf.putInt(in.fila + 1);
+            }
+            buf.flip();
+            while (buf.hasRemaining()) out.write(buf);
+            return in.registros;
+        }
+    }
+
+    // java LeitorTrace chegadas.csv chegadas.bin
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("uso: java LeitorTrace <trace.csv> <trace.bin>");
+            return;
+        }
+        long n = converte(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println(n + " registros gravados em " + args[1]);
+    }
+}
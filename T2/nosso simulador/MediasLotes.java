@@ -0,0 +1,122 @@
+import java.util.*;
+
+// Médias em lotes (batch means) incrementais para o modo de parada sequencial.
+// A execução é cortada em lotes de 'tamanhoLote' eventos; de cada lote guardam-se, por fila,
+// a área sob n(t) e o número de saídas, e a duração do lote. Cada lote dá uma observação de
+// população média (área / duração) e de tempo de resposta (área / saídas, lei de Little),
+// e o intervalo de confiança sai da t-Student sobre essas observações.
+//
+// Memória fixa: quando os MAX_LOTES lotes enchem, os lotes vizinhos são somados dois a dois
+// e o tamanho do lote dobra, então o custo não cresce com o tamanho da execução e os lotes
+// ficam cada vez maiores (e menos correlacionados) à medida que a simulação avança.
+public class MediasLotes {
+
+    static final int MAX_LOTES = 64;
+    static final int MIN_LOTES = 10;
+    static final long TAMANHO_INICIAL = 1024;
+
+    private final int numFilas;
+    private final double[][] area;      // [fila][lote]
+    private final long[][] saidas;      // [fila][lote]
+    private final double[] duracao;     // [lote]
+    private int lotes = 0;
+    private long tamanhoLote = TAMANHO_INICIAL;
+
+    // Valores acumulados das filas no início do lote corrente.
+    private double tempoInicio;
+    private final double[] areaInicio;
+    private final long[] saidasInicio;
+
+    MediasLotes(int numFilas) {
+        this.numFilas = numFilas;
+        this.area = new double[numFilas][MAX_LOTES];
+        this.saidas = new long[numFilas][MAX_LOTES];
+        this.duracao = new double[MAX_LOTES];
+        this.areaInicio = new double[numFilas];
+        this.saidasInicio = new long[numFilas];
+    }
+
+    // Marca o início do primeiro lote (as filas devem estar acumuladas até 'tempo').
+    void inicia(double tempo, List<SimuladorRede.Fila> filas) {
+        lotes = 0;
+        tamanhoLote = TAMANHO_INICIAL;
+        marca(tempo, filas);
+    }
+
+    long tamanhoLote() {
+        return tamanhoLote;
+    }
+
+    int lotes() {
+        return lotes;
+    }
+
+    // Fecha o lote corrente em 'tempo' (filas acumuladas até 'tempo') e abre o próximo.
+    void fecha(double tempo, List<SimuladorRede.Fila> filas) {
+        duracao[lotes] = tempo - tempoInicio;
+        for (int i = 0; i < numFilas; i++) {
+            SimuladorRede.Fila f = filas.get(i);
+            area[i][lotes] = f.area - areaInicio[i];
+            saidas[i][lotes] = f.saidas - saidasInicio[i];
+        }
+        lotes++;
+        if (lotes == MAX_LOTES) junta();
+        marca(tempo, filas);
+    }
+
+    private void marca(double tempo, List<SimuladorRede.Fila> filas) {
+        tempoInicio = tempo;
+        for (int i = 0; i < numFilas; i++) {
+            areaInicio[i] = filas.get(i).area;
+            saidasInicio[i] = filas.get(i).saidas;
+        }
+    }
+
+    private void junta() {
+        for (int l = 0; l < MAX_LOTES / 2; l++) {
+            duracao[l] = duracao[2 * l] + duracao[2 * l + 1];
+            for (int i = 0; i < numFilas; i++) {
+                area[i][l] = area[i][2 * l] + area[i][2 * l + 1];
+                saidas[i][l] = saidas[i][2 * l] + saidas[i][2 * l + 1];
+            }
+        }
+        lotes = MAX_LOTES / 2;
+        tamanhoLote *= 2;
+    }
+
+    // ---------------- ESTIMATIVAS ----------------
+    Estatistica.Amostra populacao(int fila) {
+        Estatistica.Amostra a = new Estatistica.Amostra();
+        for (int l = 0; l < lotes; l++) {
+            if (duracao[l] > 0) a.adiciona(area[fila][l] / duracao[l]);
+        }
+        return a;
+    }
+
+    // Lotes sem saídas não dão observação; se houver algum, o tempo de resposta não converge.
+    Estatistica.Amostra resposta(int fila) {
+        Estatistica.Amostra a = new Estatistica.Amostra();
+        for (int l = 0; l < lotes; l++) {
+            if (saidas[fila][l] > 0) a.adiciona(area[fila][l] / saidas[fila][l]);
+        }
+        return a;
+    }
+
+    // true se população média e tempo de resposta de todas as filas têm semi-amplitude
+    // relativa <= 'precisao'. Filas que nunca receberam clientes (média zero) não contam.
+    boolean atingiu(double precisao, double confianca) {
+        if (lotes < MIN_LOTES) return false;
+        for (int i = 0; i < numFilas; i++) {
+            if (!preciso(populacao(i), lotes, precisao, confianca)) return false;
+            if (!preciso(resposta(i), lotes, precisao, confianca)) return false;
+        }
+        return true;
+    }
+
+    private static boolean preciso(Estatistica.Amostra a, int lotes, double precisao, double confianca) {
+        if (a.n == 0) return true;  // fila sem clientes
+        if (a.n < lotes) return false;
+        if (a.media == 0.0) return a.m2 == 0.0;
+        return a.semiAmplitude(confianca) <= precisao * Math.abs(a.media);
+    }
+}
@@ -0,0 +1,285 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Leitor dos modelos no formato do simulator.jar (model.yml).
+// Não é um parser YAML genérico: lê linha a linha só o subconjunto que o simulator.jar
+// usa (arrivals, queues, network, rndnumbers, rndnumbersPerSeed, seeds), sem dependências
+// e sem montar árvore de documento, então milhares de arquivos podem ser processados
+// numa mesma JVM.
+public class ModeloYaml {
+
+    // ---------------- FILA DO MODELO ----------------
+    static class FilaModelo {
+        final String nome;
+        int servidores = 1;
+        int capacidade = 0;  // 0 = infinita, como em paramsFilas
+        double minChegada = Double.NaN, maxChegada = Double.NaN;
+        double minServico, maxServico;
+
+        FilaModelo(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    // ---------------- CONTEUDO DO MODELO ----------------
+    final Map<String, FilaModelo> filas = new LinkedHashMap<>();
+    final Map<String, Double> chegadas = new LinkedHashMap<>();
+    final List<String> origens = new ArrayList<>();
+    final List<String> destinos = new ArrayList<>();
+    final List<Double> probabilidades = new ArrayList<>();
+    double[] rndnumbers = new double[0];
+    long[] seeds = new long[0];
+    long rndnumbersPerSeed = 100000;
+    private Map<String, Integer> indices;
+
+    // ---------------- LEITURA ----------------
+    public static ModeloYaml carrega(Path arquivo) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            return carrega(in);
+        }
+    }
+
+    public static ModeloYaml carrega(BufferedReader in) throws IOException {
+        ModeloYaml m = new ModeloYaml();
+        String secao = "";
+        FilaModelo filaAtual = null;
+        int numLinha = 0;
+        int nRnd = 0, nSeeds = 0;
+        String linha;
+
+        while ((linha = in.readLine()) != null) {
+            numLinha++;
+            int comentario = linha.indexOf('#');
+            if (comentario >= 0) linha = linha.substring(0, comentario);
+            if (linha.isBlank() || linha.startsWith("!")) continue;
+
+            boolean topo = !Character.isWhitespace(linha.charAt(0)) && linha.charAt(0) != '-';
+            String conteudo = linha.trim();
+
+            if (topo) {
+                String chave = chave(conteudo, numLinha);
+                String valor = valor(conteudo);
+                secao = chave;
+                filaAtual = null;
+                if (chave.equals("rndnumbersPerSeed")) {
+                    m.rndnumbersPerSeed = Long.parseLong(valor);
+                } else if (!valor.isEmpty()) {
+                    throw erro(numLinha, "valor inesperado em '" + chave + "'");
+                }
+                continue;
+            }
+
+            switch (secao) {
+                case "arrivals":
+                    m.chegadas.put(chave(conteudo, numLinha), numero(valor(conteudo), numLinha));
+                    break;
+
+                case "queues": {
+                    String chave = chave(conteudo, numLinha);
+                    String valor = valor(conteudo);
+                    if (valor.isEmpty()) {
+                        filaAtual = new FilaModelo(chave);
+                        if (m.filas.put(chave, filaAtual) != null) throw erro(numLinha, "fila repetida " + chave);
+                    } else {
+                        if (filaAtual == null) throw erro(numLinha, "propriedade fora de uma fila");
+                        propriedadeFila(filaAtual, chave, numero(valor, numLinha), numLinha);
+                    }
+                    break;
+                }
+
+                case "network": {
+                    if (conteudo.startsWith("-")) {
+                        m.origens.add(null);
+                        m.destinos.add(null);
+                        m.probabilidades.add(null);
+                        conteudo = conteudo.substring(1).trim();
+                        if (conteudo.isEmpty()) break;
+                    }
+                    if (m.origens.isEmpty()) throw erro(numLinha, "aresta sem '-'");
+                    int ultima = m.origens.size() - 1;
+                    String chave = chave(conteudo, numLinha);
+                    String valor = valor(conteudo);
+                    if (chave.equals("source")) m.origens.set(ultima, valor);
+                    else if (chave.equals("target")) m.destinos.set(ultima, valor);
+                    else if (chave.equals("probability")) m.probabilidades.set(ultima, numero(valor, numLinha));
+                    else throw erro(numLinha, "chave desconhecida em network: " + chave);
+                    break;
+                }
+
+                case "rndnumbers":
+                    if (nRnd == m.rndnumbers.length) m.rndnumbers = Arrays.copyOf(m.rndnumbers, Math.max(16, nRnd * 2));
+                    m.rndnumbers[nRnd++] = numero(item(conteudo, numLinha), numLinha);
+                    break;
+
+                case "seeds":
+                    if (nSeeds == m.seeds.length) m.seeds = Arrays.copyOf(m.seeds, Math.max(8, nSeeds * 2));
+                    m.seeds[nSeeds++] = Long.parseLong(item(conteudo, numLinha));
+                    break;
+
+                default:
+                    throw erro(numLinha, "conteúdo fora de uma seção conhecida");
+            }
+        }
+
+        m.rndnumbers = Arrays.copyOf(m.rndnumbers, nRnd);
+        m.seeds = Arrays.copyOf(m.seeds, nSeeds);
+        m.valida();
+        return m;
+    }
+
+    private static void propriedadeFila(FilaModelo f, String chave, double v, int numLinha) {
+        switch (chave) {
+            case "servers": f.servidores = (int) v; break;
+            case "capacity": f.capacidade = (int) v; break;
+            case "minArrival": f.minChegada = v; break;
+            case "maxArrival": f.maxChegada = v; break;
+            case "minService": f.minServico = v; break;
+            case "maxService": f.maxServico = v; break;
+            default: throw erro(numLinha, "propriedade de fila desconhecida: " + chave);
+        }
+    }
+
+    private static String chave(String conteudo, int numLinha) {
+        int p = conteudo.indexOf(':');
+        if (p < 0) throw erro(numLinha, "esperado 'chave: valor'");
+        return conteudo.substring(0, p).trim();
+    }
+
+    private static String valor(String conteudo) {
+        return conteudo.substring(conteudo.indexOf(':') + 1).trim();
+    }
+
+    private static String item(String conteudo, int numLinha) {
+        if (!conteudo.startsWith("-")) throw erro(numLinha, "esperado item de lista '- valor'");
+        return conteudo.substring(1).trim();
+    }
+
+    private static double numero(String s, int numLinha) {
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            throw erro(numLinha, "número inválido '" + s + "'");
+        }
+    }
+
+    private static IllegalArgumentException erro(int numLinha, String msg) {
+        return new IllegalArgumentException("linha " + numLinha + ": " + msg);
+    }
+
+    private void valida() {
+        if (filas.isEmpty()) throw new IllegalArgumentException("modelo sem filas");
+        for (int a = 0; a < origens.size(); a++) {
+            if (origens.get(a) == null || destinos.get(a) == null || probabilidades.get(a) == null) {
+                throw new IllegalArgumentException("aresta " + (a + 1) + " incompleta (source/target/probability)");
+            }
+            indice(origens.get(a));
+            indice(destinos.get(a));
+        }
+        if (chegadas.isEmpty()) throw new IllegalArgumentException("modelo sem chegadas (arrivals)");
+        for (String nome : chegadas.keySet()) {
+            FilaModelo f = filas.get(nome);
+            if (f == null) throw new IllegalArgumentException("chegada em fila inexistente: " + nome);
+            if (Double.isNaN(f.minChegada) || Double.isNaN(f.maxChegada)) {
+                throw new IllegalArgumentException("fila " + nome + " recebe chegadas mas não tem minArrival/maxArrival");
+            }
+        }
+    }
+
+    // ---------------- CONVERSAO PARA O SIMULADOR ----------------
+    int indice(String nome) {
+        if (indices == null) {
+            indices = new HashMap<>();
+            for (String n : filas.keySet()) indices.put(n, indices.size());
+        }
+        Integer i = indices.get(nome);
+        if (i == null) throw new IllegalArgumentException("fila inexistente: " + nome);
+        return i;
+    }
+
+    // {capacidade(0=infinita), servidores, servico_min, servico_max}, igual ao App.
+    List<double[]> paramsFilas() {
+        List<double[]> params = new ArrayList<>();
+        for (FilaModelo f : filas.values()) {
+            params.add(new double[]{f.capacidade, f.servidores, f.minServico, f.maxServico});
+        }
+        return params;
+    }
+
+    Roteamento roteamento() {
+        int n = origens.size();
+        int[] o = new int[n];
+        int[] d = new int[n];
+        double[] p = new double[n];
+        for (int a = 0; a < n; a++) {
+            o[a] = indice(origens.get(a));
+            d[a] = indice(destinos.get(a));
+            p[a] = probabilidades.get(a);
+        }
+        return new Roteamento(filas.size(), o, d, p);
+    }
+
+    private String nomeEntrada() {
+        return chegadas.keySet().iterator().next();
+    }
+
+    SimuladorRede criaSimulador(long semente) {
+        return criaSimulador(new FonteLcg48(semente), rndnumbersPerSeed);
+    }
+
+    SimuladorRede criaSimulador(FonteAleatoria fonte, long limite) {
+        String entrada = nomeEntrada();
+        FilaModelo f = filas.get(entrada);
+        SimuladorRede sim = new SimuladorRede(f.minChegada, f.maxChegada, indice(entrada), paramsFilas(), roteamento(),
+                                              chegadas.get(entrada), limite, fonte, new AgendaHeap());
+        // demais filas com 'arrivals': uma fonte independente para cada
+        for (Map.Entry<String, Double> c : chegadas.entrySet()) {
+            if (c.getKey().equals(entrada)) continue;
+            FilaModelo g = filas.get(c.getKey());
+            sim.adicionaChegadas(indice(c.getKey()), Distribuicao.uniforme(g.minChegada, g.maxChegada), c.getValue());
+        }
+        return sim;
+    }
+
+    // Motor gerado especificamente para este modelo (ver CompiladorModelo).
+    CompiladorModelo compilador() {
+        if (chegadas.size() > 1) {
+            throw new IllegalArgumentException("o motor compilado só aceita uma fila com chegadas externas");
+        }
+        String entrada = nomeEntrada();
+        FilaModelo f = filas.get(entrada);
+        return new CompiladorModelo(f.minChegada, f.maxChegada, indice(entrada), paramsFilas(), roteamento(),
+                                    chegadas.get(entrada));
+    }
+
+    // Executa como o simulator.jar: uma simulação por semente (réplicas em paralelo) ou,
+    // sem 'seeds', uma simulação consumindo exatamente a lista 'rndnumbers'.
+    void executar() {
+        if (seeds.length == 0) {
+            if (rndnumbers.length == 0) throw new IllegalArgumentException("modelo sem 'seeds' e sem 'rndnumbers'");
+            criaSimulador(new FonteLista(rndnumbers), rndnumbers.length).simular();
+        } else if (seeds.length == 1) {
+            criaSimulador(seeds[0]).simular();
+        } else {
+            new Replicador(this::criaSimulador, seeds).executar().relatorio();
+        }
+    }
+
+    // Aceita arquivos .yml ou diretórios (todos os .yml dentro deles).
+    static List<Path> arquivos(String[] caminhos) throws IOException {
+        List<Path> lista = new ArrayList<>();
+        for (String c : caminhos) {
+            Path p = Paths.get(c);
+            if (Files.isDirectory(p)) {
+                try (DirectoryStream<Path> dir = Files.newDirectoryStream(p, "*.{yml,yaml}")) {
+                    for (Path a : dir) lista.add(a);
+                }
+            } else {
+                lista.add(p);
+            }
+        }
+        Collections.sort(lista);
+        return lista;
+    }
+}
@@ -0,0 +1,20 @@
+// Motor de simulação de rede já configurado com um modelo, pronto para executar.
+// Implementado pelos motores gerados pelo CompiladorModelo.
+public interface MotorRede {
+
+    void executar();
+
+    double getTempo();
+
+    long getUsados();
+
+    long getEventos();
+
+    int numFilas();
+
+    HistogramaEstados tempos(int fila);
+
+    int perdas(int fila);
+
+    int saidas(int fila);
+}
@@ -0,0 +1,260 @@
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+
+public class Replicador {
+
+    // ---------------- ATRIBUTOS ----------------
+    private final LongFunction<SimuladorRede> fabrica;
+    private final LongFunction<SimuladorRede> fabricaAntitetica;  // null = réplicas independentes
+    private final long[] sementes;
+    private final int threads;
+    private final double confianca;
+    private boolean controle = false;
+    // Guarda só os números de cada réplica; o simulador é descartado logo após executar.
+    private Resultado[] replicas;
+
+    // ---------------- CONSTRUTORES ----------------
+    public Replicador(LongFunction<SimuladorRede> fabrica, long[] sementes) {
+        this(fabrica, sementes, Runtime.getRuntime().availableProcessors(), 0.95);
+    }
+
+    public Replicador(LongFunction<SimuladorRede> fabrica, long[] sementes, int threads, double confianca) {
+        this(fabrica, null, sementes, threads, confianca);
+    }
+
+    private Replicador(
+        LongFunction<SimuladorRede> fabrica, LongFunction<SimuladorRede> fabricaAntitetica,
+        long[] sementes, int threads, double confianca
+    ) {
+        this.fabrica = fabrica;
+        this.fabricaAntitetica = fabricaAntitetica;
+        this.sementes = sementes;
+        this.threads = Math.max(1, Math.min(threads, sementes.length * (fabricaAntitetica != null ? 2 : 1)));
+        this.confianca = confianca;
+    }
+
+    // Pares antitéticos: para cada semente, uma réplica com FonteLcg48(semente) (a mesma do
+    // construtor por semente do SimuladorRede) e outra com FonteAntitetica sobre ela. As
+    // médias e intervalos passam a ser sobre as médias dos pares, que são independentes
+    // entre si. A fábrica deve chamar usaFluxosDedicados: com um fluxo só, o par sai de
+    // passo nos primeiros eventos e a correlação negativa se perde.
+    public static Replicador antitetico(Function<FonteAleatoria, SimuladorRede> fabrica, long[] sementes) {
+        return new Replicador(s -> fabrica.apply(new FonteLcg48(s)),
+                              s -> fabrica.apply(new FonteAntitetica(new FonteLcg48(s))),
+                              sementes, Runtime.getRuntime().availableProcessors(), 0.95);
+    }
+
+    // Variáveis de controle: cada métrica da fila i é corrigida pelo desvio médio dos serviços
+    // sorteados na fila i (Resultado.controleServico, de esperança zero porque a média de cada
+    // distribuição é conhecida), com o coeficiente de regressão estimado entre as réplicas.
+    // Réplicas que sortearam serviços curtos demais, por exemplo, tiveram filas menores que o
+    // normal e são corrigidas para cima.
+    public Replicador usaVariaveisControle() {
+        this.controle = true;
+        return this;
+    }
+
+    // Réplicas a partir de fluxos divididos de uma fonte raiz, em vez de sementes.
+    // A divisão é feita aqui, na thread que chama, então o resultado não depende do escalonamento.
+    // Cada réplica pode dividir o seu fluxo de novo (usaFluxosDedicados) sem invadir o das outras.
+    public Replicador(Function<FonteAleatoria, SimuladorRede> fabrica, FonteAleatoria raiz, int replicacoes) {
+        this(porFluxo(fabrica, raiz, replicacoes), sementes(0, replicacoes));
+    }
+
+    private static LongFunction<SimuladorRede> porFluxo(
+        Function<FonteAleatoria, SimuladorRede> fabrica, FonteAleatoria raiz, int replicacoes
+    ) {
+        FonteAleatoria[] fluxos = new FonteAleatoria[replicacoes];
+        for (int i = 0; i < replicacoes; i++) {
+            fluxos[i] = raiz.divide();
+        }
+        return i -> fabrica.apply(fluxos[(int) i]);
+    }
+
+    // Sementes consecutivas a partir de 'inicial' (equivale a "seeds: 1..n" do simulator.jar).
+    static long[] sementes(long inicial, int quantidade) {
+        long[] s = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) s[i] = inicial + i;
+        return s;
+    }
+
+    // ---------------- EXECUCAO ----------------
+    public Replicador executar() {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Resultado>> futuros = new ArrayList<>(sementes.length * porGrupo());
+            for (long semente : sementes) {
+                futuros.add(pool.submit(() -> replica(fabrica, semente)));
+                if (fabricaAntitetica != null) futuros.add(pool.submit(() -> replica(fabricaAntitetica, semente)));
+            }
+            // Resultados ficam na ordem das sementes (cada par junto), independente da ordem de término.
+            replicas = new Resultado[futuros.size()];
+            for (int i = 0; i < futuros.size(); i++) {
+                replicas[i] = futuros.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replicações interrompidas", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha em uma replicação", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return this;
+    }
+
+    private static Resultado replica(LongFunction<SimuladorRede> fabrica, long semente) {
+        SimuladorRede sim = fabrica.apply(semente);
+        sim.executar();
+        return Resultado.de(sim, semente);
+    }
+
+    // ---------------- AGREGACAO ----------------
+    Resultado[] getReplicas() {
+        return replicas;
+    }
+
+    // Grava todas as réplicas, na ordem das sementes.
+    public void grava(EscritorResultados saida) throws IOException {
+        for (Resultado r : replicas) saida.escreve(r);
+    }
+
+    int numeroFilas() {
+        return replicas[0].numFilas();
+    }
+
+    // Réplicas por grupo: 2 com pares antitéticos (o par conta como uma observação).
+    private int porGrupo() {
+        return fabricaAntitetica != null ? 2 : 1;
+    }
+
+    // Um valor por grupo: a métrica da réplica, ou a média do par.
+    private double[] porGrupo(ToDoubleFunction<Resultado> metrica) {
+        int g = porGrupo();
+        double[] v = new double[replicas.length / g];
+        for (int i = 0; i < replicas.length; i++) v[i / g] += metrica.applyAsDouble(replicas[i]) / g;
+        return v;
+    }
+
+    private Estatistica.Amostra amostra(int fila, ToDoubleFunction<Resultado> metrica) {
+        double[] y = porGrupo(metrica);
+        if (controle) Estatistica.aplicaControle(y, porGrupo(r -> r.controleServico[fila]));
+        return Estatistica.amostra(y);
+    }
+
+    Estatistica.Amostra populacao(int fila) {
+        return amostra(fila, r -> r.populacao[fila]);
+    }
+
+    Estatistica.Amostra vazao(int fila) {
+        return amostra(fila, r -> r.vazao[fila]);
+    }
+
+    Estatistica.Amostra utilizacao(int fila) {
+        return amostra(fila, r -> r.utilizacao[fila]);
+    }
+
+    Estatistica.Amostra resposta(int fila) {
+        return amostra(fila, r -> r.resposta[fila]);
+    }
+
+    Estatistica.Amostra perdas(int fila) {
+        return amostra(fila, r -> r.perdas[fila]);
+    }
+
+    // Proporção do tempo em cada estado; réplicas que não chegaram no estado contam como zero.
+    Estatistica.Amostra[] proporcoes(int fila) {
+        int estados = 0;
+        for (Resultado r : replicas) estados = Math.max(estados, r.proporcoes[fila].length);
+        Estatistica.Amostra[] a = new Estatistica.Amostra[estados];
+        for (int e = 0; e < estados; e++) {
+            int estado = e;
+            a[e] = Estatistica.amostra(porGrupo(r -> {
+                double[] p = r.proporcoes[fila];
+                return estado < p.length ? p[estado] : 0.0;
+            }));
+        }
+        return a;
+    }
+
+    // ---------------- RELATORIO ----------------
+    public void relatorio() {
+        Estatistica.Amostra tempo = new Estatistica.Amostra();
+        Estatistica.Amostra usados = new Estatistica.Amostra();
+        for (Resultado r : replicas) {
+            tempo.adiciona(r.tempo);
+            usados.adiciona(r.usados);
+        }
+
+        System.out.println("==============================================");
+        System.out.printf("Replicações: %d (%d threads), confiança %.0f%%%n",
+                          replicas.length, threads, confianca * 100);
+        System.out.printf("Tempo médio de simulação: %.2f ± %.2f%n", tempo.media, tempo.semiAmplitude(confianca));
+        System.out.printf("Números aleatórios usados (média): %.0f%n", usados.media);
+        if (fabricaAntitetica != null) System.out.println("Pares antitéticos: " + sementes.length);
+        if (controle) System.out.println("Variáveis de controle: serviço sorteado em cada fila");
+        System.out.println("==============================================");
+
+        for (int i = 0; i < numeroFilas(); i++) {
+            mostraFila(i);
+        }
+    }
+
+    private void mostraFila(int i) {
+        System.out.println("\n--- Fila " + (i + 1) + " ---");
+        System.out.println("Distribuição média de tempo por estado:");
+        Estatistica.Amostra[] estados = proporcoes(i);
+        for (int e = 0; e < estados.length; e++) {
+            if (estados[e].media > 1e-8) {
+                System.out.printf("%3d clientes: %.2f%% ± %.2f%n", e,
+                                  estados[e].media * 100, estados[e].semiAmplitude(confianca) * 100);
+            }
+        }
+        mostraMetrica("População média:  ", populacao(i));
+        mostraMetrica("Vazão:            ", vazao(i));
+        mostraMetrica("Utilização:       ", utilizacao(i));
+        mostraMetrica("Tempo de resposta:", resposta(i));
+        mostraMetrica("Perdas:           ", perdas(i));
+        System.out.println("==============================================");
+    }
+
+    private void mostraMetrica(String nome, Estatistica.Amostra a) {
+        System.out.printf("   - %s      %.4f ± %.4f%n", nome, a.media, a.semiAmplitude(confianca));
+    }
+
+    // ---------------- COMPARACAO ----------------
+    // Diferença 'depois' - este de cada métrica, pareada por semente (grupo a grupo). Com
+    // números aleatórios comuns (as mesmas sementes e usaFluxosDedicados nas duas
+    // configurações) as duas execuções de cada par variam juntas e o intervalo da diferença
+    // fica bem mais estreito que o de duas amostras independentes do mesmo tamanho.
+    public void comparacao(Replicador depois) {
+        if (depois.replicas.length != replicas.length || depois.porGrupo() != porGrupo()) {
+            throw new IllegalArgumentException("comparação precisa das mesmas sementes nas duas configurações");
+        }
+        System.out.println("==============================================");
+        System.out.printf("Comparação pareada (depois - antes), %d pares, confiança %.0f%%%n",
+                          replicas.length / porGrupo(), confianca * 100);
+        System.out.println("==============================================");
+        for (int i = 0; i < Math.min(numeroFilas(), depois.numeroFilas()); i++) {
+            int fila = i;
+            System.out.println("\n--- Fila " + (i + 1) + " ---");
+            mostraMetrica("População média:  ", diferenca(depois, r -> r.populacao[fila]));
+            mostraMetrica("Vazão:            ", diferenca(depois, r -> r.vazao[fila]));
+            mostraMetrica("Utilização:       ", diferenca(depois, r -> r.utilizacao[fila]));
+            mostraMetrica("Tempo de resposta:", diferenca(depois, r -> r.resposta[fila]));
+            mostraMetrica("Perdas:           ", diferenca(depois, r -> r.perdas[fila]));
+            System.out.println("==============================================");
+        }
+    }
+
+    private Estatistica.Amostra diferenca(Replicador depois, ToDoubleFunction<Resultado> metrica) {
+        double[] antes = porGrupo(metrica);
+        double[] d = depois.porGrupo(metrica);
+        for (int g = 0; g < d.length; g++) d[g] -= antes[g];
+        return Estatistica.amostra(d);
+    }
+}
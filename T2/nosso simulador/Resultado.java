@@ -0,0 +1,76 @@
+import java.util.List;
+
+// Resultado de uma execução do SimuladorRede, só com números: o que os relatórios imprimem,
+// em arrays por fila, para ser gravado por um EscritorResultados (JSON, CSV ou binário
+// colunar) ou agregado (Replicador) sem passar por texto de console.
+public class Resultado {
+
+    // ---------------- EXECUCAO ----------------
+    long semente;
+    int ponto = -1;          // índice do ponto na Varredura (-1 fora dela)
+    double tempo;
+    double tempoEstatisticas;
+    long usados;
+    long eventos;
+    boolean esgotado;
+
+    // ---------------- POR FILA ----------------
+    final int[] capacidade;  // 0 = infinita, como em paramsFilas
+    final int[] servidores;
+    final double[] populacao;
+    final double[] vazao;
+    final double[] utilizacao;
+    final double[] resposta;
+    final int[] perdas;
+    final int[] saidas;
+    final double[][] proporcoes;  // [fila][estado] fração do tempo das estatísticas
+    final double[] controleServico;  // desvio médio do serviço sorteado (esperança zero)
+
+    Resultado(int numFilas) {
+        capacidade = new int[numFilas];
+        servidores = new int[numFilas];
+        populacao = new double[numFilas];
+        vazao = new double[numFilas];
+        utilizacao = new double[numFilas];
+        resposta = new double[numFilas];
+        perdas = new int[numFilas];
+        saidas = new int[numFilas];
+        proporcoes = new double[numFilas][];
+        controleServico = new double[numFilas];
+    }
+
+    int numFilas() {
+        return populacao.length;
+    }
+
+    // Lê o estado do simulador depois de executar (as mesmas contas de mostraFila).
+    static Resultado de(SimuladorRede sim, long semente) {
+        List<SimuladorRede.Fila> filas = sim.getFilas();
+        double total = sim.getTempoEstatisticas() > 0 ? sim.getTempoEstatisticas() : 1.0;
+
+        Resultado r = new Resultado(filas.size());
+        r.semente = semente;
+        r.tempo = sim.getTempo();
+        r.tempoEstatisticas = sim.getTempoEstatisticas();
+        r.usados = sim.getUsados();
+        r.eventos = sim.getEventos();
+        r.esgotado = sim.isEsgotado();
+        for (int i = 0; i < filas.size(); i++) {
+            SimuladorRede.Fila f = filas.get(i);
+            r.capacidade[i] = f.capacidade == Integer.MAX_VALUE ? 0 : f.capacidade;
+            r.servidores[i] = f.servidores;
+            r.populacao[i] = f.populacaoMedia(total);
+            r.vazao[i] = f.vazao(total);
+            r.utilizacao[i] = f.utilizacao(total);
+            r.resposta[i] = f.tempoResposta(total);
+            r.perdas[i] = f.perdas;
+            r.saidas[i] = f.saidas;
+            r.controleServico[i] = f.controleServico();
+            r.proporcoes[i] = new double[f.tempos.maiorEstado() + 1];
+            for (int e = 0; e < r.proporcoes[i].length; e++) {
+                r.proporcoes[i][e] = f.tempos.get(e) / total;
+            }
+        }
+        return r;
+    }
+}
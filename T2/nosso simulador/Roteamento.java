@@ -0,0 +1,154 @@
+import java.util.*;
+
+// Roteamento pré-compilado: uma tabela de alias (Walker/Vose) por fila de origem.
+// Cada tabela só tem os destinos com probabilidade > 0 mais a "saída do sistema"
+// (o que falta para a linha somar 1), então sortear o destino custa O(1) com um
+// único número aleatório, independente do número de filas da rede.
+public class Roteamento {
+
+    static final int SAIDA_SISTEMA = -1;
+
+    // ---------------- TABELA DE ALIAS DE UMA ORIGEM ----------------
+    static class Tabela {
+        final int[] destinos;       // destino de cada coluna
+        final int[] alias;          // destino alternativo de cada coluna
+        final double[] corte;       // probabilidade de ficar com a própria coluna
+
+        Tabela(int[] destinos, double[] probs) {
+            int n = destinos.length;
+            this.destinos = destinos;
+            this.alias = new int[n];
+            this.corte = new double[n];
+
+            // Algoritmo de Vose: separa colunas abaixo e acima da média e completa
+            // cada coluna pequena com o excesso de uma grande.
+            double[] escala = new double[n];
+            int[] pequenas = new int[n];
+            int[] grandes = new int[n];
+            int np = 0, ng = 0;
+            for (int i = 0; i < n; i++) {
+                escala[i] = probs[i] * n;
+                if (escala[i] < 1.0) pequenas[np++] = i;
+                else grandes[ng++] = i;
+            }
+            while (np > 0 && ng > 0) {
+                int p = pequenas[--np];
+                int g = grandes[--ng];
+                corte[p] = escala[p];
+                alias[p] = destinos[g];
+                escala[g] = (escala[g] + escala[p]) - 1.0;
+                if (escala[g] < 1.0) pequenas[np++] = g;
+                else grandes[ng++] = g;
+            }
+            // O que sobra está em 1 (a menos de erro de arredondamento).
+            while (ng > 0) {
+                int g = grandes[--ng];
+                corte[g] = 1.0;
+                alias[g] = destinos[g];
+            }
+            while (np > 0) {
+                int p = pequenas[--np];
+                corte[p] = 1.0;
+                alias[p] = destinos[p];
+            }
+        }
+
+        int sorteia(double u) {
+            double x = u * destinos.length;
+            int i = (int) x;
+            return (x - i) < corte[i] ? destinos[i] : alias[i];
+        }
+    }
+
+    // ---------------- ATRIBUTOS ----------------
+    private final Tabela[] tabelas;
+
+    // ---------------- CONSTRUTORES ----------------
+    // A partir da matriz densa: linhas=origem, colunas=destino; soma da linha <= 1.
+    public Roteamento(double[][] matriz) {
+        this.tabelas = new Tabela[matriz.length];
+        for (int origem = 0; origem < matriz.length; origem++) {
+            double[] linha = matriz[origem];
+            int nz = 0;
+            for (double p : linha) if (p > 0) nz++;
+            int[] destinos = new int[nz];
+            double[] probs = new double[nz];
+            int k = 0;
+            for (int d = 0; d < linha.length; d++) {
+                if (linha[d] > 0) {
+                    destinos[k] = d;
+                    probs[k++] = linha[d];
+                }
+            }
+            tabelas[origem] = compila(origem, destinos, probs);
+        }
+    }
+
+    // Representação esparsa (lista de arestas), para redes grandes onde quase tudo é zero.
+    // Arestas repetidas entre o mesmo par de filas são somadas.
+    public Roteamento(int numFilas, int[] origens, int[] destinos, double[] probs) {
+        List<Map<Integer, Double>> linhas = new ArrayList<>(numFilas);
+        for (int i = 0; i < numFilas; i++) linhas.add(new TreeMap<>());
+        for (int a = 0; a < origens.length; a++) {
+            if (probs[a] > 0) linhas.get(origens[a]).merge(destinos[a], probs[a], Double::sum);
+        }
+
+        this.tabelas = new Tabela[numFilas];
+        for (int origem = 0; origem < numFilas; origem++) {
+            Map<Integer, Double> linha = linhas.get(origem);
+            int[] ds = new int[linha.size()];
+            double[] ps = new double[linha.size()];
+            int k = 0;
+            for (Map.Entry<Integer, Double> e : linha.entrySet()) {
+                ds[k] = e.getKey();
+                ps[k++] = e.getValue();
+            }
+            tabelas[origem] = compila(origem, ds, ps);
+        }
+    }
+
+    // Acrescenta a saída do sistema como mais um resultado possível e monta a tabela.
+    private static Tabela compila(int origem, int[] destinos, double[] probs) {
+        double soma = 0.0;
+        for (double p : probs) soma += p;
+        if (soma > 1.0 + 1e-9) {
+            throw new IllegalArgumentException(
+                "Probabilidades de roteamento da fila " + (origem + 1) + " somam " + soma + " (> 1)");
+        }
+
+        double saida = 1.0 - soma;
+        if (saida <= 1e-12) {
+            return new Tabela(destinos, probs);
+        }
+        int[] ds = Arrays.copyOf(destinos, destinos.length + 1);
+        double[] ps = Arrays.copyOf(probs, probs.length + 1);
+        ds[destinos.length] = SAIDA_SISTEMA;
+        ps[probs.length] = saida;
+        return new Tabela(ds, ps);
+    }
+
+    // ---------------- SORTEIO ----------------
+    // Destino do cliente que sai de 'origem', ou SAIDA_SISTEMA. 'u' uniforme em [0,1).
+    int destino(int origem, double u) {
+        return tabelas[origem].sorteia(u);
+    }
+
+    // Números aleatórios que a saída de 'origem' consome: nenhum quando só há um destino
+    // possível (só a saída do sistema, ou uma aresta com probabilidade 1), como no simulator.jar.
+    int sorteios(int origem) {
+        return tabelas[origem].destinos.length > 1 ? 1 : 0;
+    }
+
+    // Destino certo de 'origem' quando sorteios(origem) == 0.
+    int destinoUnico(int origem) {
+        return tabelas[origem].destinos[0];
+    }
+
+    int numFilas() {
+        return tabelas.length;
+    }
+
+    Tabela tabela(int origem) {
+        return tabelas[origem];
+    }
+}
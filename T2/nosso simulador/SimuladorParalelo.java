@@ -0,0 +1,514 @@
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Simulação paralela de eventos discretos (PDES conservadora) de UMA execução longa de uma
+// rede grande. As filas são divididas em processos lógicos (LPs), um por thread; cada LP
+// tem a sua agenda e o seu fluxo de aleatórios (FonteAleatoria.divide da semente) e só
+// mexe nas próprias filas. Clientes que passam de um LP para outro vão por canais SPSC
+// (um produtor, um consumidor) sem trava.
+//
+// Sincronização (Chandy-Misra-Bryant, com os limites publicados em memória compartilhada
+// no lugar das mensagens nulas): cada LP publica um limite L tal que nunca mais enviará um
+// cliente com instante < L, e só processa eventos com instante estritamente menor que o
+// menor limite dos LPs que enviam para ele. O avanço vem da antecipação (lookahead): o
+// destino de um cliente é sorteado quando o serviço começa, então a mensagem para outro LP
+// sai no início do serviço com o instante da saída, pelo menos servico_min depois. Por isso
+// toda fila que envia clientes para outro LP precisa de servico_min > 0.
+//
+// Determinismo: cada LP processa seus eventos em ordem de (instante, chave), onde a chave é
+// (LP que gerou o evento, contador daquele LP). Com a semente e a partição fixas, a ordem
+// de processamento não depende do escalonamento das threads e o resultado é sempre o mesmo
+// (mas muda com o número de LPs, que muda os fluxos de aleatórios).
+//
+// Em vez de 'limiteAleatorios' (um orçamento global exigiria coordenação a cada sorteio),
+// a execução vai até o instante 'tempoFinal'. Serviços uniformes de paramsFilas e chegadas
+// externas uniformes numa fila de entrada, como no SimuladorRede básico.
+public class SimuladorParalelo {
+
+    // ---------------- EVENTOS ----------------
+    // Evento num long: tipo nos 2 bits baixos, fila nos 30 seguintes e, na saída,
+    // destino + 1 (0 = sai do sistema) nos 32 de cima.
+    static final int CHEGADA = 1;      // externa
+    static final int SAIDA = 2;
+    static final int ROTEADO = 3;      // chegada vinda de outra fila
+
+    static final int LOTE = 256;                 // eventos entre publicações do limite
+    static final int ESPERA_ATIVA = 2000;        // voltas de espera antes de estacionar
+    static final int CAPACIDADE_CANAL = 1 << 14;
+
+    static long evento(int tipo, int fila, int destino) {
+        return ((long) (destino + 1) << 32) | ((long) fila << 2) | tipo;
+    }
+
+    // ---------------- AGENDA DE UM LP ----------------
+    // Heap binário ordenado por (instante, chave); a chave desempata instantes iguais de
+    // forma independente da ordem de inserção.
+    static final class Calendario {
+        private double[] tempos = new double[256];
+        private long[] chaves = new long[256];
+        private long[] eventos = new long[256];
+        private int tamanho = 0;
+
+        void agendar(double t, long chave, long evento) {
+            if (tamanho == tempos.length) {
+                tempos = Arrays.copyOf(tempos, tamanho * 2);
+                chaves = Arrays.copyOf(chaves, tamanho * 2);
+                eventos = Arrays.copyOf(eventos, tamanho * 2);
+            }
+            int i = tamanho++;
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (!antes(t, chave, tempos[pai], chaves[pai])) break;
+                tempos[i] = tempos[pai];
+                chaves[i] = chaves[pai];
+                eventos[i] = eventos[pai];
+                i = pai;
+            }
+            tempos[i] = t;
+            chaves[i] = chave;
+            eventos[i] = evento;
+        }
+
+        private static boolean antes(double t1, long c1, double t2, long c2) {
+            return t1 < t2 || (t1 == t2 && c1 < c2);
+        }
+
+        boolean vazia() {
+            return tamanho == 0;
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        double proximoTempo() {
+            return tamanho > 0 ? tempos[0] : Double.POSITIVE_INFINITY;
+        }
+
+        long proximoEvento() {
+            return eventos[0];
+        }
+
+        void remove() {
+            int n = --tamanho;
+            double t = tempos[n];
+            long c = chaves[n];
+            long e = eventos[n];
+            int i = 0;
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= n) break;
+                if (filho + 1 < n && antes(tempos[filho + 1], chaves[filho + 1], tempos[filho], chaves[filho])) filho++;
+                if (!antes(tempos[filho], chaves[filho], t, c)) break;
+                tempos[i] = tempos[filho];
+                chaves[i] = chaves[filho];
+                eventos[i] = eventos[filho];
+                i = filho;
+            }
+            tempos[i] = t;
+            chaves[i] = c;
+            eventos[i] = e;
+        }
+    }
+
+    // ---------------- CANAL SPSC ----------------
+    // Buffer circular com um produtor e um consumidor. Cada lado só escreve o próprio
+    // índice (publicado com setRelease) e guarda uma cópia do índice do outro lado, relida
+    // só quando parece cheio/vazio.
+    static final class Canal {
+        private final int mascara = CAPACIDADE_CANAL - 1;
+        private final double[] tempos = new double[CAPACIDADE_CANAL];
+        private final int[] filas = new int[CAPACIDADE_CANAL];
+        private final long[] chaves = new long[CAPACIDADE_CANAL];
+        private final AtomicLong inicio = new AtomicLong();   // escrito pelo consumidor
+        private final AtomicLong fim = new AtomicLong();      // escrito pelo produtor
+        private long fimProdutor, inicioVisto;                 // lado do produtor
+        private long inicioConsumidor, fimVisto;               // lado do consumidor
+
+        boolean envia(double t, int fila, long chave) {
+            if (fimProdutor - inicioVisto == CAPACIDADE_CANAL) {
+                inicioVisto = inicio.get();
+                if (fimProdutor - inicioVisto == CAPACIDADE_CANAL) return false;
+            }
+            int i = (int) fimProdutor & mascara;
+            tempos[i] = t;
+            filas[i] = fila;
+            chaves[i] = chave;
+            fim.setRelease(++fimProdutor);
+            return true;
+        }
+
+        // Passa tudo o que chegou para a agenda do consumidor.
+        void drena(Calendario agenda) {
+            if (inicioConsumidor == fimVisto) {
+                fimVisto = fim.getAcquire();
+                if (inicioConsumidor == fimVisto) return;
+            }
+            while (inicioConsumidor < fimVisto) {
+                int i = (int) inicioConsumidor & mascara;
+                agenda.agendar(tempos[i], chaves[i], evento(ROTEADO, filas[i], -1));
+                inicioConsumidor++;
+            }
+            inicio.setRelease(inicioConsumidor);
+        }
+    }
+
+    // ---------------- PROCESSO LOGICO ----------------
+    final class Processo implements Runnable, Distribuicao.Sorteador {
+        final int id;
+        final Calendario agenda = new Calendario();
+        final FonteAleatoria fonte;
+        private final double[] bloco = new double[SimuladorRede.TAMANHO_BLOCO];
+        private int indice = 0;
+
+        final List<Processo> origens = new ArrayList<>();   // LPs que enviam para este
+        final List<Canal> entradas = new ArrayList<>();     // mesma ordem de 'origens'
+        final Canal[] saidas;                               // por LP de destino (null = nenhum)
+        final List<Processo> destinos = new ArrayList<>();
+        double antecipacao = Double.POSITIVE_INFINITY;      // menor servico_min das filas de fronteira
+
+        volatile double limite = 0.0;   // nenhum envio futuro com instante < limite
+        volatile boolean dormindo;
+        Thread thread;
+
+        private double tempo;
+        private long sequencia = 0;
+        long eventos = 0;
+        long usados = 0;
+        long mensagens = 0;
+
+        Processo(int id, FonteAleatoria fonte, int numProcessos) {
+            this.id = id;
+            this.fonte = fonte;
+            this.saidas = new Canal[numProcessos];
+            indice = bloco.length;
+        }
+
+        // ---- aleatórios ----
+        public double u() {
+            if (indice == bloco.length) {
+                fonte.preenche(bloco, bloco.length);
+                indice = 0;
+            }
+            usados++;
+            return bloco[indice++];
+        }
+
+        public double extra() {
+            return fonte.proximo();
+        }
+
+        private long chave() {
+            return ((long) id << 40) | sequencia++;
+        }
+
+        // ---- laço ----
+        public void run() {
+            for (;;) {
+                double entrada = Double.POSITIVE_INFINITY;
+                for (Processo o : origens) entrada = Math.min(entrada, o.limite);
+                for (Canal c : entradas) c.drena(agenda);
+
+                double seguro = Math.min(entrada, tempoFinal);
+                int processados = 0;
+                while (processados < LOTE && agenda.proximoTempo() < seguro) {
+                    processa();
+                    processados++;
+                }
+
+                if (entrada >= tempoFinal && agenda.proximoTempo() >= tempoFinal) {
+                    publica(Double.POSITIVE_INFINITY);
+                    break;
+                }
+                publica(Math.min(agenda.proximoTempo(), entrada) + antecipacao);
+                if (processados == 0) espera(entrada);
+            }
+            for (SimuladorRede.Fila f : filasDe(id)) f.acumula(tempoFinal);
+        }
+
+        private void publica(double novo) {
+            if (novo <= limite) return;
+            limite = novo;
+            for (Processo d : destinos) {
+                if (d.dormindo) LockSupport.unpark(d.thread);
+            }
+        }
+
+        // Nada para processar: espera algum LP de origem avançar o limite. Com menos núcleos
+        // que LPs, girar só atrasa quem vai publicar; aí cede o processador a cada volta.
+        private void espera(double entrada) {
+            for (int i = 0; i < ESPERA_ATIVA; i++) {
+                if (menorLimiteOrigens() > entrada) return;
+                if (girar) Thread.onSpinWait();
+                else Thread.yield();
+            }
+            dormindo = true;
+            if (menorLimiteOrigens() <= entrada) LockSupport.parkNanos(this, 1_000_000L);
+            dormindo = false;
+        }
+
+        private double menorLimiteOrigens() {
+            double m = Double.POSITIVE_INFINITY;
+            for (Processo o : origens) m = Math.min(m, o.limite);
+            return m;
+        }
+
+        private void processa() {
+            tempo = agenda.proximoTempo();
+            long e = agenda.proximoEvento();
+            agenda.remove();
+            eventos++;
+            int tipo = (int) e & 3;
+            int fila = (int) (e >>> 2) & 0x3FFFFFFF;
+            switch (tipo) {
+                case CHEGADA:
+                    agenda.agendar(tempo + chegada.amostra(this), chave(), evento(CHEGADA, fila, -1));
+                    entra(fila);
+                    break;
+                case ROTEADO:
+                    entra(fila);
+                    break;
+                case SAIDA:
+                    sai(fila, (int) (e >>> 32) - 1);
+                    break;
+            }
+        }
+
+        private void entra(int filaId) {
+            SimuladorRede.Fila f = filas[filaId];
+            if (f.n >= f.capacidade) {
+                f.perdas++;
+                return;
+            }
+            f.acumula(tempo);
+            f.n++;
+            if (f.ocupados < f.servidores) {
+                f.ocupados++;
+                iniciaServico(filaId, f);
+            } else {
+                f.espera++;
+            }
+        }
+
+        // Sorteia o serviço e já o destino; se o destino é de outro LP, o cliente é enviado
+        // agora, com o instante da saída (é daqui que vem a antecipação).
+        private void iniciaServico(int filaId, SimuladorRede.Fila f) {
+            double saida = tempo + f.servico.amostra(this);
+            int destino = roteamento.destino(filaId, u());
+            long chave = chave();
+            agenda.agendar(saida, chave, evento(SAIDA, filaId, destino));
+            if (destino != Roteamento.SAIDA_SISTEMA && particao[destino] != id && saida < tempoFinal) {
+                Canal c = saidas[particao[destino]];
+                while (!c.envia(saida, destino, chave)) {
+                    // canal cheio: continua recebendo, senão dois LPs enviando um para o outro travam
+                    for (Canal ent : entradas) ent.drena(agenda);
+                    Processo d = processos[particao[destino]];
+                    if (d.dormindo) LockSupport.unpark(d.thread);
+                    Thread.onSpinWait();
+                }
+                mensagens++;
+            }
+        }
+
+        private void sai(int filaId, int destino) {
+            SimuladorRede.Fila f = filas[filaId];
+            f.acumula(tempo);
+            f.ocupados--;
+            f.n--;
+            f.saidas++;
+            if (f.espera > 0) {
+                f.espera--;
+                f.ocupados++;
+                iniciaServico(filaId, f);
+            }
+            if (destino != Roteamento.SAIDA_SISTEMA && particao[destino] == id) entra(destino);
+        }
+    }
+
+    // ---------------- MODELO ----------------
+    private final SimuladorRede.Fila[] filas;
+    private final Roteamento roteamento;
+    private final Distribuicao chegada;
+    private final int filaEntrada;
+    private final double primeiraChegada;
+    private final double tempoFinal;
+    private final int[] particao;       // fila -> LP
+    private final Processo[] processos;
+    private final boolean girar;        // um núcleo por LP: espera ativa
+    private long duracaoNanos;
+
+    // Partição em blocos contíguos de filas (filas vizinhas na numeração ficam juntas).
+    public SimuladorParalelo(
+        double chegadaMin, double chegadaMax,
+        int filaEntrada,
+        List<double[]> paramsFilas,
+        Roteamento roteamento,
+        double primeiraChegada,
+        double tempoFinal,
+        long semente,
+        int numProcessos
+    ) {
+        this(chegadaMin, chegadaMax, filaEntrada, paramsFilas, roteamento, primeiraChegada, tempoFinal, semente,
+             blocos(paramsFilas.size(), numProcessos));
+    }
+
+    // particao[i] = LP da fila i (0..numProcessos-1, todos usados).
+    public SimuladorParalelo(
+        double chegadaMin, double chegadaMax,
+        int filaEntrada,
+        List<double[]> paramsFilas,
+        Roteamento roteamento,
+        double primeiraChegada,
+        double tempoFinal,
+        long semente,
+        int[] particao
+    ) {
+        int k = paramsFilas.size();
+        if (roteamento.numFilas() != k || particao.length != k) {
+            throw new IllegalArgumentException("roteamento e partição precisam ter " + k + " filas");
+        }
+        this.filas = new SimuladorRede.Fila[k];
+        for (int i = 0; i < k; i++) {
+            double[] p = paramsFilas.get(i);
+            filas[i] = new SimuladorRede.Fila((int) p[0], (int) p[1], p[2], p[3]);
+        }
+        this.roteamento = roteamento;
+        this.chegada = Distribuicao.uniforme(chegadaMin, chegadaMax);
+        this.filaEntrada = filaEntrada;
+        this.primeiraChegada = primeiraChegada;
+        this.tempoFinal = tempoFinal;
+        this.particao = particao.clone();
+
+        int numProcessos = 0;
+        for (int lp : particao) numProcessos = Math.max(numProcessos, lp + 1);
+        FonteAleatoria raiz = new FonteLcg48(semente);
+        processos = new Processo[numProcessos];
+        girar = Runtime.getRuntime().availableProcessors() >= numProcessos;
+        for (int i = 0; i < numProcessos; i++) processos[i] = new Processo(i, raiz.divide(), numProcessos);
+
+        // um canal por par de LPs ligado por alguma probabilidade de roteamento
+        for (int origem = 0; origem < k; origem++) {
+            Processo de = processos[particao[origem]];
+            for (int destino : roteamento.tabela(origem).destinos) {
+                if (destino == Roteamento.SAIDA_SISTEMA || particao[destino] == de.id) continue;
+                double servMin = paramsFilas.get(origem)[2];
+                if (servMin <= 0) {
+                    throw new IllegalArgumentException("fila " + (origem + 1) + " envia clientes para outro processo "
+                                                       + "e precisa de servico_min > 0 (antecipação)");
+                }
+                de.antecipacao = Math.min(de.antecipacao, servMin);
+                Processo para = processos[particao[destino]];
+                if (de.saidas[para.id] == null) {
+                    Canal c = new Canal();
+                    de.saidas[para.id] = c;
+                    de.destinos.add(para);
+                    para.origens.add(de);
+                    para.entradas.add(c);
+                }
+            }
+        }
+        for (Processo p : processos) {
+            if (filasDe(p.id).isEmpty()) {
+                throw new IllegalArgumentException("processo " + p.id + " sem filas na partição");
+            }
+        }
+    }
+
+    static int[] blocos(int numFilas, int numProcessos) {
+        int n = Math.max(1, Math.min(numProcessos, numFilas));
+        int[] p = new int[numFilas];
+        for (int i = 0; i < numFilas; i++) p[i] = (int) ((long) i * n / numFilas);
+        return p;
+    }
+
+    private List<SimuladorRede.Fila> filasDe(int lp) {
+        List<SimuladorRede.Fila> l = new ArrayList<>();
+        for (int i = 0; i < filas.length; i++) {
+            if (particao[i] == lp) l.add(filas[i]);
+        }
+        return l;
+    }
+
+    // ---------------- EXECUCAO ----------------
+    public void executar() {
+        Processo entrada = processos[particao[filaEntrada]];
+        entrada.agenda.agendar(primeiraChegada, entrada.chave(), evento(CHEGADA, filaEntrada, -1));
+
+        long inicio = System.nanoTime();
+        for (Processo p : processos) p.thread = new Thread(p, "lp-" + p.id);
+        for (Processo p : processos) p.thread.start();
+        try {
+            for (Processo p : processos) p.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulação paralela interrompida", e);
+        }
+        duracaoNanos = System.nanoTime() - inicio;
+    }
+
+    public void simular() {
+        executar();
+        relatorio();
+    }
+
+    // ---------------- RESULTADOS ----------------
+    long getEventos() {
+        long n = 0;
+        for (Processo p : processos) n += p.eventos;
+        return n;
+    }
+
+    long getUsados() {
+        long n = 0;
+        for (Processo p : processos) n += p.usados;
+        return n;
+    }
+
+    Resultado resultado(long semente) {
+        Resultado r = new Resultado(filas.length);
+        r.semente = semente;
+        r.tempo = tempoFinal;
+        r.tempoEstatisticas = tempoFinal;
+        r.usados = getUsados();
+        r.eventos = getEventos();
+        for (int i = 0; i < filas.length; i++) {
+            SimuladorRede.Fila f = filas[i];
+            r.capacidade[i] = f.capacidade == Integer.MAX_VALUE ? 0 : f.capacidade;
+            r.servidores[i] = f.servidores;
+            r.populacao[i] = f.populacaoMedia(tempoFinal);
+            r.vazao[i] = f.vazao(tempoFinal);
+            r.utilizacao[i] = f.utilizacao(tempoFinal);
+            r.resposta[i] = f.tempoResposta(tempoFinal);
+            r.perdas[i] = f.perdas;
+            r.saidas[i] = f.saidas;
+            r.proporcoes[i] = new double[f.tempos.maiorEstado() + 1];
+            for (int e = 0; e < r.proporcoes[i].length; e++) r.proporcoes[i][e] = f.tempos.get(e) / tempoFinal;
+        }
+        return r;
+    }
+
+    public void relatorio() {
+        System.out.println("==============================================");
+        System.out.printf("Simulação paralela: %d processos lógicos, até t=%.2f (%.3f s)%n",
+                          processos.length, tempoFinal, duracaoNanos / 1e9);
+        for (Processo p : processos) {
+            System.out.printf("  LP %d: %d filas, %d eventos, %d clientes enviados, antecipação %.2f%n",
+                              p.id, filasDe(p.id).size(), p.eventos, p.mensagens, p.antecipacao);
+        }
+        System.out.println("Eventos: " + getEventos() + ", números aleatórios: " + getUsados());
+        System.out.println("==============================================");
+        for (int i = 0; i < filas.length; i++) {
+            SimuladorRede.Fila f = filas[i];
+            System.out.println("\n--- Fila " + (i + 1) + " (LP " + particao[i] + ") ---");
+            System.out.println("Capacidade: " + (f.capacidade == Integer.MAX_VALUE ? "Infinita" : f.capacidade) +
+                               ", Servidores: " + f.servidores);
+            System.out.printf("   - População média:       %.2f%n", f.populacaoMedia(tempoFinal));
+            System.out.printf("   - Vazão:                 %.2f%n", f.vazao(tempoFinal));
+            System.out.printf("   - Utilização:            %.2f%n", f.utilizacao(tempoFinal));
+            System.out.printf("   - Tempo de resposta:     %.2f%n", f.tempoResposta(tempoFinal));
+            System.out.printf("   - Perdas:                %d%n", f.perdas);
+            System.out.println("==============================================");
+        }
+    }
+}
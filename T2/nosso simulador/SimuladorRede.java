@@ -1,3 +1,6 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
 public class SimuladorRede {
 
@@ -5,68 +8,320 @@ public class SimuladorRede {
     static final int CHEGADA = 1;
     static final int SAIDA = 2;
 
-    // ---------------- CLASSE EVENTO ----------------
-    static class Evento implements Comparable<Evento> {
-        double tempo;
-        int tipo;
-        int filaId;
+    // ---------------- EMPACOTAMENTO DO EVENTO ----------------
+    // O evento vai para a agenda como um único int: tipo nos 2 bits baixos, classe do
+    // cliente nos 3 seguintes e, no resto, a fila (ou a fonte de chegada, ou o cliente
+    // rastreado; ver processarChegada e Clientes).
+    static final int BITS_TIPO = 2;
+    static final int MASCARA_TIPO = (1 << BITS_TIPO) - 1;
+    static final int BITS_CLASSE = 3;
+    static final int MAX_CLASSES = 1 << BITS_CLASSE;
+    static final int DESLOCAMENTO_FILA = BITS_TIPO + BITS_CLASSE;
 
-        Evento(double t, int tipo, int filaId) {
-            this.tempo = t;
-            this.tipo = tipo;
-            this.filaId = filaId;
-        }
+    static int evento(int tipo, int filaId) {
+        return (filaId << DESLOCAMENTO_FILA) | tipo;
+    }
 
-        @Override
-        public int compareTo(Evento o) {
-            return Double.compare(this.tempo, o.tempo);
-        }
+    static int evento(int tipo, int classe, int filaId) {
+        return (filaId << DESLOCAMENTO_FILA) | (classe << BITS_TIPO) | tipo;
+    }
+
+    static int tipo(int evento) {
+        return evento & MASCARA_TIPO;
+    }
+
+    static int classe(int evento) {
+        return (evento >>> BITS_TIPO) & (MAX_CLASSES - 1);
+    }
+
+    static int fila(int evento) {
+        return evento >>> DESLOCAMENTO_FILA;
     }
 
     // ---------------- CLASSE FILA ----------------
     static class Fila {
         int capacidade;
         int servidores;
-        double servMin, servMax;
+        Distribuicao servico;
+        Distribuicao[] servicoClasse;   // null = todas as classes usam 'servico'
 
         int ocupados = 0;
         int espera = 0;
         int perdas = 0;
         int saidas = 0;
-        double[] tempos;
+        final int[] saidasClasse = new int[MAX_CLASSES];
+        Clientes.FilaEspera classesEspera;  // classes na espera, em ordem (só com várias classes)
+        HistogramaEstados tempos;
         int n = 0;
+        double ultimaMudanca = 0.0;  // instante da última mudança de população
+        double area = 0.0;           // integral de n(t) até ultimaMudanca (médias em lotes)
+        double desvioServico = 0.0;  // soma de (serviço sorteado - média da distribuição)
+        long servicosSorteados = 0;
 
         Fila(int capacidade, int servidores, double servMin, double servMax) {
             this.capacidade = (capacidade == 0) ? Integer.MAX_VALUE : capacidade;
             this.servidores = servidores;
-            this.servMin = servMin;
-            this.servMax = servMax;
-            int tamVetor = (this.capacidade == Integer.MAX_VALUE) ? 1000 : this.capacidade + 1;
-            this.tempos = new double[tamVetor];
+            this.servico = Distribuicao.uniforme(servMin, servMax);
+            this.tempos = new HistogramaEstados(this.capacidade);
         }
 
-        void acumula(double delta) {
-            int estadoAtual = Math.min(n, tempos.length - 1);
-            tempos[estadoAtual] += delta;
+        // Volta ao estado inicial com novos parâmetros, reaproveitando o histograma.
+        void reinicia(int capacidade, int servidores, double servMin, double servMax) {
+            this.capacidade = (capacidade == 0) ? Integer.MAX_VALUE : capacidade;
+            this.servidores = servidores;
+            this.servico = Distribuicao.uniforme(servMin, servMax);
+            ocupados = 0;
+            espera = 0;
+            perdas = 0;
+            saidas = 0;
+            Arrays.fill(saidasClasse, 0);
+            if (classesEspera != null) classesEspera.limpa();
+            n = 0;
+            ultimaMudanca = 0.0;
+            area = 0.0;
+            desvioServico = 0.0;
+            servicosSorteados = 0;
+            tempos.zera();
+        }
+
+        // Contabiliza o tempo no estado atual até 'agora'. Deve ser chamado antes de mudar 'n',
+        // assim cada evento só toca as filas que ele altera.
+        void acumula(double agora) {
+            double delta = agora - ultimaMudanca;
+            if (delta > 0) {
+                tempos.adiciona(n, delta);
+                area += n * delta;
+            }
+            ultimaMudanca = agora;
+        }
+
+        // Descarta o que foi contado até 'agora' (fim do aquecimento), mantendo o estado da fila.
+        void zeraEstatisticas(double agora) {
+            perdas = 0;
+            saidas = 0;
+            Arrays.fill(saidasClasse, 0);
+            area = 0.0;
+            desvioServico = 0.0;
+            servicosSorteados = 0;
+            tempos.zera();
+            ultimaMudanca = agora;
+        }
+
+        // ---------------- METRICAS ----------------
+        double populacaoMedia(double totalTempo) {
+            return tempos.somaPonderada() / totalTempo;
+        }
+
+        double vazao(double totalTempo) {
+            return saidas / totalTempo;
+        }
+
+        Distribuicao servico(int classe) {
+            if (classe == 0 || servicoClasse == null || servicoClasse[classe] == null) return servico;
+            return servicoClasse[classe];
+        }
+
+        double utilizacao(double totalTempo) {
+            if (servicoClasse != null) {
+                // trabalho entregue a cada classe: saídas x serviço médio da classe
+                double trabalho = 0;
+                for (int c = 0; c < MAX_CLASSES; c++) trabalho += saidasClasse[c] * servico(c).media();
+                return Math.min(1.0, servidores > 0 ? trabalho / totalTempo / servidores : 0.0);
+            }
+            double mediaServico = servico.media();
+            return Math.min(1.0, (servidores > 0 ? (vazao(totalTempo) * mediaServico) / servidores : 0.0));
+        }
+
+        double tempoResposta(double totalTempo) {
+            double vazao = vazao(totalTempo);
+            return vazao > 0 ? (populacaoMedia(totalTempo) / vazao) : 0.0;
+        }
+
+        // Estado e estatísticas; capacidade, servidores e distribuições são configuração.
+        void grava(Checkpoint.Saida s) throws IOException {
+            s.inteiro(n);
+            s.inteiro(ocupados);
+            s.inteiro(espera);
+            s.inteiro(perdas);
+            s.inteiro(saidas);
+            s.inteiros(saidasClasse, 0, MAX_CLASSES);
+            s.real(ultimaMudanca);
+            s.real(area);
+            s.real(desvioServico);
+            s.longo(servicosSorteados);
+            s.inteiro(classesEspera != null ? classesEspera.tamanho() : -1);
+            if (classesEspera != null) {
+                for (int i = 0; i < classesEspera.tamanho(); i++) s.inteiro(classesEspera.get(i));
+            }
+            tempos.grava(s);
+        }
+
+        void restaura(Checkpoint.Entrada e) throws IOException {
+            n = e.inteiro();
+            ocupados = e.inteiro();
+            espera = e.inteiro();
+            perdas = e.inteiro();
+            saidas = e.inteiro();
+            e.inteiros(saidasClasse, 0, MAX_CLASSES);
+            ultimaMudanca = e.real();
+            area = e.real();
+            desvioServico = e.real();
+            servicosSorteados = e.longo();
+            int emEspera = e.inteiro();
+            if (classesEspera != null) classesEspera.limpa();
+            for (int i = 0; i < emEspera; i++) classesEspera.adiciona(e.inteiro());
+            tempos.restaura(e);
+        }
+
+        // Variável de controle: desvio médio dos serviços sorteados em relação à média
+        // conhecida das distribuições. Esperança zero; ver Replicador.usaVariaveisControle.
+        double controleServico() {
+            return servicosSorteados > 0 ? desvioServico / servicosSorteados : 0.0;
+        }
+    }
+
+    // ---------------- FLUXO DE NUMEROS ALEATORIOS ----------------
+    // Os números são gerados em blocos pela fonte e consumidos por índice; todo sorteio
+    // (chegada, serviço e roteamento) passa por aqui e conta no orçamento 'usados'.
+    static final int TAMANHO_BLOCO = 8192;
+    static final int TAMANHO_BLOCO_DEDICADO = 512;  // um fluxo por fila e finalidade: blocos menores
+
+    final class FluxoAleatorio implements Distribuicao.Sorteador {
+        private FonteAleatoria fonte;
+        private final double[] bloco;
+        private int indice = 0;
+        private int fim = 0;
+
+        FluxoAleatorio(FonteAleatoria fonte) {
+            this(fonte, TAMANHO_BLOCO);
+        }
+
+        FluxoAleatorio(FonteAleatoria fonte, int tamanhoBloco) {
+            this.fonte = fonte;
+            this.bloco = new double[tamanhoBloco];
+        }
+
+        double proximo() {
+            if (indice == fim) recarrega();
+            usados++;
+            return bloco[indice++];
+        }
+
+        public double u() {
+            return proximo();
+        }
+
+        // Uniformes adicionais das distribuições (rejeição, fases), direto da fonte e fora do
+        // orçamento: 'limiteAleatorios' conta variáveis sorteadas, não uniformes.
+        public double extra() {
+            return fonte.proximo();
+        }
+
+        // Bloco sempre cheio, sem olhar o orçamento: o que vai para o bloco e o que extra()
+        // tira direto da fonte não depende de 'limiteAleatorios', e uma execução continuada
+        // com estendeOrcamento sorteia o mesmo que uma execução única. Só uma fonte finita
+        // (FonteLista) limita o bloco ao que lhe resta; vazia, o preenche de 1 acusa o fim.
+        private void recarrega() {
+            fim = (int) Math.max(1, Math.min(bloco.length, fonte.restantes()));
+            fonte.preenche(bloco, fim);
+            indice = 0;
+        }
+
+        // Checkpoint: o estado da fonte e os números do bloco ainda não consumidos.
+        void grava(Checkpoint.Saida s) throws IOException {
+            s.fonte(fonte);
+            s.inteiro(fim - indice);
+            s.reais(bloco, indice, fim - indice);
+        }
+
+        void restaura(Checkpoint.Entrada e) throws IOException {
+            fonte = e.fonte();
+            int resto = e.inteiro();
+            if (resto > bloco.length) throw e.erro("bloco de aleatórios maior que o deste simulador");
+            e.reais(bloco, 0, resto);
+            indice = 0;
+            fim = resto;
+        }
+
+        // Descarta o que sobrou do bloco e passa a ler de 'fonte'.
+        void reinicia(FonteAleatoria fonte) {
+            this.fonte = fonte;
+            indice = 0;
+            fim = 0;
         }
     }
 
     // ---------------- ATRIBUTOS DO SIMULADOR ----------------
-    private final PriorityQueue<Evento> agenda = new PriorityQueue<>();
-    private final Random rng = new Random(12345);
+    private final Agenda agenda;
+    private final FluxoAleatorio aleatorios;
 
     // ---------------- PARAMETROS DO SISTEMA ----------------
     private final List<Fila> filas = new ArrayList<>();
-    private final double[][] matrizRoteamento;
-    private final double chegadaMin, chegadaMax;
-    private final long limiteAleatorios;
+    private Roteamento roteamento;
+    private final Roteamento[] roteamentoClasse = new Roteamento[MAX_CLASSES];  // null = 'roteamento'
+    private final int filaEntrada;
+    private Distribuicao chegada;
+    private long limiteAleatorios;
     private long usados = 0;
+    private boolean esgotado = false;
 
     // ---------------- ESTADO DA SIMULACAO ----------------
     private double tempo = 0.0;
-    private double ultimoTempo = 0.0;
+    private long eventos = 0;
+
+    // ---------------- AQUECIMENTO ----------------
+    // As estatísticas das filas valem de 'inicioEstatisticas' até 'tempo'.
+    private DetectorAquecimento aquecimento;
+    private double inicioEstatisticas = 0.0;
+    private long eventosDescartados = 0;
+
+    // ---------------- RASTREAMENTO DE CLIENTES ----------------
+    // null no modo normal (só contagens). Quando ativo, as saídas vão para a agenda com o
+    // índice do cliente no lugar do índice da fila (a fila atual fica no pool).
+    private Clientes clientes;
+
+    // ---------------- FONTES DE CHEGADA ----------------
+    // Cada fonte é um fluxo independente de chegadas externas de uma classe para uma fila.
+    // A fonte 0 é a do construtor (filaEntrada, 'chegada', classe 0); os eventos de chegada
+    // levam o índice da fonte, então o despacho não depende de quantas existem.
+    private int numFontes = 1;
+    private int[] filaFonte = new int[4];
+    private int[] classeFonte = new int[4];
+    private Distribuicao[] distribuicaoFonte = new Distribuicao[4];
+    private double[] primeiraFonte = new double[4];
+    private int numClasses = 1;
+
+    // ---------------- REPLAY DE TRACE ----------------
+    // Com trace, as chegadas externas vêm do arquivo em vez da distribuição de chegadas.
+    private LeitorTrace trace;
+    private double fatorCarga = 1.0;
+    private double inicioTrace;
+    private double demandaPendente = Double.NaN;  // serviço da chegada já agendada
+
+    // ---------------- FLUXOS DEDICADOS ----------------
+    // null = um único fluxo para tudo. Com usaFluxosDedicados, cada fila tem um fluxo para
+    // serviço e outro para roteamento e cada fonte de chegada tem o seu (números aleatórios
+    // comuns entre configurações comparadas).
+    private FluxoAleatorio[] fluxosServico;
+    private FluxoAleatorio[] fluxosRota;
+    private FluxoAleatorio[] fluxosChegada;
+
+    // ---------------- CHECKPOINT ----------------
+    // Restaurado com mais servidores que no arquivo: a espera ocupa os livres no próximo executar.
+    private boolean reocupar = false;
+
+    // ---------------- INSTRUMENTACAO ----------------
+    // Cópia dos contadores publicada a cada 2^16 eventos para o JFR e o amostrador.
+    private final Instrumentacao.Contadores contadores = new Instrumentacao.Contadores();
+
+    // ---------------- PARADA SEQUENCIAL ----------------
+    private MediasLotes lotes;
+    private double precisaoAlvo, confiancaAlvo;
+    private boolean precisaoAtingida;
 
     // ---------------- CONSTRUTOR ----------------
+    static final long SEMENTE_PADRAO = 12345;
+
     public SimuladorRede(
         double chegadaMin, double chegadaMax,
         List<double[]> paramsFilas,
@@ -74,154 +329,892 @@ public class SimuladorRede {
         double primeiraChegada,
         long limiteAleatorios
     ) {
-        this.chegadaMin = chegadaMin;
-        this.chegadaMax = chegadaMax;
-        this.matrizRoteamento = matrizRoteamento;
+        this(chegadaMin, chegadaMax, paramsFilas, matrizRoteamento, primeiraChegada, limiteAleatorios, SEMENTE_PADRAO);
+    }
+
+    public SimuladorRede(
+        double chegadaMin, double chegadaMax,
+        List<double[]> paramsFilas,
+        double[][] matrizRoteamento,
+        double primeiraChegada,
+        long limiteAleatorios,
+        long semente
+    ) {
+        this(chegadaMin, chegadaMax, paramsFilas, matrizRoteamento, primeiraChegada, limiteAleatorios, semente,
+             new AgendaHeap());
+    }
+
+    public SimuladorRede(
+        double chegadaMin, double chegadaMax,
+        List<double[]> paramsFilas,
+        double[][] matrizRoteamento,
+        double primeiraChegada,
+        long limiteAleatorios,
+        FonteAleatoria fonte
+    ) {
+        this(chegadaMin, chegadaMax, 0, paramsFilas, new Roteamento(matrizRoteamento), primeiraChegada,
+             limiteAleatorios, fonte, new AgendaHeap());
+    }
+
+    public SimuladorRede(
+        double chegadaMin, double chegadaMax,
+        List<double[]> paramsFilas,
+        double[][] matrizRoteamento,
+        double primeiraChegada,
+        long limiteAleatorios,
+        long semente,
+        Agenda agenda
+    ) {
+        this(chegadaMin, chegadaMax, 0, paramsFilas, new Roteamento(matrizRoteamento), primeiraChegada,
+             limiteAleatorios, new FonteLcg48(semente), agenda);
+    }
+
+    // filaEntrada: índice da fila que recebe as chegadas externas.
+    public SimuladorRede(
+        double chegadaMin, double chegadaMax,
+        int filaEntrada,
+        List<double[]> paramsFilas,
+        Roteamento roteamento,
+        double primeiraChegada,
+        long limiteAleatorios,
+        FonteAleatoria fonte,
+        Agenda agenda
+    ) {
+        this.aleatorios = new FluxoAleatorio(fonte);
+        this.agenda = agenda;
+        this.chegada = Distribuicao.uniforme(chegadaMin, chegadaMax);
+        this.roteamento = roteamento;
+        this.filaEntrada = filaEntrada;
         this.limiteAleatorios = limiteAleatorios;
 
         for (double[] params : paramsFilas) {
             filas.add(new Fila((int) params[0], (int) params[1], params[2], params[3]));
         }
 
-        agenda.add(new Evento(primeiraChegada, CHEGADA, 0));
+        filaFonte[0] = filaEntrada;
+        primeiraFonte[0] = primeiraChegada;
+        agenda.agendar(primeiraChegada, evento(CHEGADA, 0));
+    }
+
+    // Prepara uma nova execução no mesmo objeto, com outros parâmetros de filas e roteamento
+    // (mesmo número de filas). Agenda, histogramas e bloco de aleatórios são reaproveitados,
+    // então quem executa milhares de configurações (Varredura) não realoca o simulador
+    // nem perde o código já compilado pelo JIT.
+    void reinicia(List<double[]> paramsFilas, Roteamento roteamento, double primeiraChegada, FonteAleatoria fonte) {
+        if (paramsFilas.size() != filas.size() || roteamento.numFilas() != filas.size()) {
+            throw new IllegalArgumentException("reinicia precisa do mesmo número de filas (" + filas.size() + ")");
+        }
+        for (int i = 0; i < filas.size(); i++) {
+            double[] params = paramsFilas.get(i);
+            filas.get(i).reinicia((int) params[0], (int) params[1], params[2], params[3]);
+        }
+        this.roteamento = roteamento;
+        aleatorios.reinicia(fonte);
+        if (fluxosServico != null) criaFluxosDedicados(fonte);
+        agenda.limpa();
+        usados = 0;
+        esgotado = false;
+        tempo = 0.0;
+        eventos = 0;
+        lotes = null;
+        precisaoAtingida = false;
+        if (clientes != null) clientes.limpa();
+        if (aquecimento != null) aquecimento = new DetectorAquecimento(filas.size());
+        inicioEstatisticas = 0.0;
+        eventosDescartados = 0;
+        primeiraFonte[0] = primeiraChegada;
+        for (int i = 0; i < numFontes; i++) agenda.agendar(primeiraFonte[i], evento(CHEGADA, i));
+        if (trace != null) {
+            try {
+                iniciaTrace();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ---------------- NUMEROS ALEATORIOS COMUNS ----------------
+    // Cada fila passa a sortear serviço e roteamento de fluxos próprios, e cada fonte as
+    // chegadas de um fluxo próprio, todos divididos da fonte do simulador numa ordem fixa
+    // (por fila: serviço, roteamento; depois as fontes de chegada). Assim, duas configurações
+    // executadas com a mesma semente usam o mesmo número para o mesmo propósito (a k-ésima
+    // chegada da fonte j, o k-ésimo serviço da fila i) mesmo que os eventos se intercalem de
+    // outro jeito, e a diferença entre elas tem variância bem menor que com sementes
+    // independentes. Também é o que mantém pareadas as réplicas antitéticas.
+    // Chamar depois de adicionaChegadas e antes de executar; o orçamento continua um só.
+    public void usaFluxosDedicados() {
+        if (eventos > 0) throw new IllegalStateException("fluxos dedicados devem ser definidos antes de executar");
+        criaFluxosDedicados(aleatorios.fonte);
     }
 
-    private double uniforme(double a, double b) {
-        if (usados >= limiteAleatorios) return Double.POSITIVE_INFINITY;
-        usados++;
-        return a + rng.nextDouble() * (b - a);
+    // Os fluxos são filhos da fonte do simulador; se ela já é um fluxo dividido (réplica do
+    // Replicador), são netos da raiz, e FonteAleatoria.divide garante que não se sobrepõem
+    // aos das outras réplicas.
+    private void criaFluxosDedicados(FonteAleatoria raiz) {
+        if (fluxosServico == null) alocaFluxosDedicados();
+        for (int i = 0; i < filas.size(); i++) {
+            fluxosServico[i].reinicia(raiz.divide());
+            fluxosRota[i].reinicia(raiz.divide());
+        }
+        for (int j = 0; j < numFontes; j++) {
+            fluxosChegada[j].reinicia(raiz.divide());
+        }
     }
 
-    private void acumulaTempos(double agora) {
-        double delta = agora - ultimoTempo;
-        if (delta > 0) {
-            for (Fila f : filas) {
-                f.acumula(delta);
+    // Só os objetos, sem fonte: o checkpoint restaura as fontes sem dividir nada.
+    private void alocaFluxosDedicados() {
+        int k = filas.size();
+        fluxosServico = new FluxoAleatorio[k];
+        fluxosRota = new FluxoAleatorio[k];
+        for (int i = 0; i < k; i++) {
+            fluxosServico[i] = new FluxoAleatorio(null, TAMANHO_BLOCO_DEDICADO);
+            fluxosRota[i] = new FluxoAleatorio(null, TAMANHO_BLOCO_DEDICADO);
+        }
+        fluxosChegada = new FluxoAleatorio[numFontes];
+        for (int j = 0; j < numFontes; j++) {
+            fluxosChegada[j] = new FluxoAleatorio(null, TAMANHO_BLOCO_DEDICADO);
+        }
+    }
+
+    private double sorteiaChegada(int fonte, Distribuicao d) {
+        return d.amostra(fluxosChegada != null ? fluxosChegada[fonte] : aleatorios);
+    }
+
+    // Também acumula o desvio em relação à média da distribuição (variável de controle).
+    private double sorteiaServico(int filaId, Fila f, int classe) {
+        Distribuicao d = f.servico(classe);
+        double s = d.amostra(fluxosServico != null ? fluxosServico[filaId] : aleatorios);
+        f.desvioServico += s - d.media();
+        f.servicosSorteados++;
+        return s;
+    }
+
+    private double sorteiaRota(int filaId) {
+        return fluxosRota != null ? fluxosRota[filaId].proximo() : aleatorios.proximo();
+    }
+
+    // Rota com um único destino não gasta sorteio (mesma contagem do simulator.jar).
+    private int sorteiaDestino(int filaId, int classe) {
+        Roteamento r = rota(classe);
+        return r.sorteios(filaId) == 0 ? r.destinoUnico(filaId) : r.destino(filaId, sorteiaRota(filaId));
+    }
+
+    // ---------------- DISTRIBUICOES ----------------
+    // Por padrão chegadas e serviços são uniformes (chegadaMin/Max e paramsFilas); estes
+    // métodos trocam por outra distribuição. Chamar antes de executar.
+    public void defineChegadas(Distribuicao d) {
+        this.chegada = d;
+    }
+
+    public void defineServico(int filaId, Distribuicao d) {
+        filas.get(filaId).servico = d;
+    }
+
+    // ---------------- CLASSES E FONTES DE CHEGADA ----------------
+    // Fonte de chegadas externas adicional, independente das demais, de clientes da
+    // 'classe' (0 a MAX_CLASSES-1) para a fila 'filaId'. Devolve o índice da fonte.
+    // Chamar antes de executar.
+    public int adicionaChegadas(int filaId, int classe, Distribuicao d, double primeiraChegada) {
+        if (eventos > 0) throw new IllegalStateException("fontes de chegada devem ser definidas antes de executar");
+        if (fluxosChegada != null) throw new IllegalStateException("chame usaFluxosDedicados depois de adicionaChegadas");
+        if (filaId < 0 || filaId >= filas.size()) throw new IllegalArgumentException("fila inexistente: " + filaId);
+        usaClasse(classe);
+        if (numFontes == filaFonte.length) {
+            int tam = numFontes * 2;
+            filaFonte = Arrays.copyOf(filaFonte, tam);
+            classeFonte = Arrays.copyOf(classeFonte, tam);
+            distribuicaoFonte = Arrays.copyOf(distribuicaoFonte, tam);
+            primeiraFonte = Arrays.copyOf(primeiraFonte, tam);
+        }
+        int fonte = numFontes++;
+        filaFonte[fonte] = filaId;
+        classeFonte[fonte] = classe;
+        distribuicaoFonte[fonte] = d;
+        primeiraFonte[fonte] = primeiraChegada;
+        if (trace == null) agenda.agendar(primeiraChegada, evento(CHEGADA, fonte));
+        return fonte;
+    }
+
+    public int adicionaChegadas(int filaId, Distribuicao d, double primeiraChegada) {
+        return adicionaChegadas(filaId, 0, d, primeiraChegada);
+    }
+
+    // Serviço dos clientes da 'classe' na fila (classe 0 = defineServico(filaId, d)).
+    public void defineServico(int filaId, int classe, Distribuicao d) {
+        usaClasse(classe);
+        Fila f = filas.get(filaId);
+        if (classe == 0) {
+            f.servico = d;
+            return;
+        }
+        if (f.servicoClasse == null) f.servicoClasse = new Distribuicao[MAX_CLASSES];
+        f.servicoClasse[classe] = d;
+    }
+
+    // Roteamento dos clientes da 'classe' (as demais seguem o roteamento do construtor).
+    public void defineRoteamento(int classe, Roteamento r) {
+        usaClasse(classe);
+        if (r.numFilas() != filas.size()) {
+            throw new IllegalArgumentException("roteamento com " + r.numFilas() + " filas, a rede tem " + filas.size());
+        }
+        if (classe == 0) roteamento = r;
+        else roteamentoClasse[classe] = r;
+    }
+
+    // Com mais de uma classe, a espera de cada fila passa a guardar a classe de cada
+    // cliente (em ordem de chegada) para o serviço e o roteamento de quem sai dela.
+    private void usaClasse(int classe) {
+        if (classe < 0 || classe >= MAX_CLASSES) {
+            throw new IllegalArgumentException("classe " + classe + " fora de 0.." + (MAX_CLASSES - 1));
+        }
+        if (classe < numClasses) return;
+        if (eventos > 0) throw new IllegalStateException("classes devem ser definidas antes de executar");
+        numClasses = classe + 1;
+        for (Fila f : filas) {
+            if (f.classesEspera == null) f.classesEspera = new Clientes.FilaEspera();
+        }
+    }
+
+    private Roteamento rota(int classe) {
+        Roteamento r = roteamentoClasse[classe];
+        return r != null ? r : roteamento;
+    }
+
+    // Máximo de sorteios que o evento pode fazer no estado atual. O laço só processa o
+    // evento se o orçamento cobre esse máximo; assim nenhum evento fica pela metade e a
+    // simulação para limpa, entre eventos, com 'usados' <= 'limiteAleatorios'.
+    private int sorteiosNecessarios(int e) {
+        if (tipo(e) == CHEGADA) {
+            if (trace != null) {
+                // replay: a próxima chegada vem do arquivo, e o serviço também quando o
+                // registro traz a demanda (que só é usada com rastreamento)
+                Fila f = filas.get(fila(e));
+                boolean demanda = clientes != null && !Double.isNaN(demandaPendente);
+                return f.n < f.capacidade && f.ocupados < f.servidores && !demanda ? 1 : 0;
             }
+            Fila f = filas.get(filaFonte[fila(e)]);
+            // próxima chegada + serviço, se o cliente entra direto num servidor
+            return 1 + (f.n < f.capacidade && f.ocupados < f.servidores ? 1 : 0);
+        }
+        int filaId = clientes != null ? clientes.fila(fila(e)) : fila(e);
+        Roteamento r = rota(clientes != null ? clientes.classe(fila(e)) : classe(e));
+        Fila f = filas.get(filaId);
+        // serviço do próximo da espera + roteamento + serviço no destino (pior caso; nenhum
+        // se a única saída possível é deixar o sistema)
+        int rota = r.sorteios(filaId);
+        boolean sai = rota == 0 && r.destinoUnico(filaId) == Roteamento.SAIDA_SISTEMA;
+        return (f.espera > 0 ? 1 : 0) + rota + (sai ? 0 : 1);
+    }
+
+    // Fecha a contabilidade de todas as filas no instante atual (idempotente).
+    private void acumulaTempos() {
+        for (Fila f : filas) {
+            f.acumula(tempo);
         }
-        ultimoTempo = agora;
     }
 
     public void simular() {
-        while (!agenda.isEmpty() && usados < limiteAleatorios) {
-            Evento e = agenda.poll();
-            acumulaTempos(e.tempo);
-            tempo = e.tempo;
-
-            switch (e.tipo) {
-                case CHEGADA:
-                    processarChegada(e);
-                    break;
-                case SAIDA:
-                    processarSaida(e);
+        executar();
+        relatorio();
+    }
+
+    // Executa a simulação sem imprimir nada (usado pelas replicações).
+    public void executar() {
+        Instrumentacao.inicia(contadores, limiteAleatorios);
+        try {
+            if (aquece()) {
+                while (proximoEvento()) {
+                }
+            }
+            acumulaTempos();
+        } finally {
+            terminaInstrumentacao();
+        }
+    }
+
+    private void publica() {
+        contadores.publica(eventos, usados, tempo, agenda.tamanho());
+    }
+
+    private void terminaInstrumentacao() {
+        publica();
+        String fim = esgotado ? "orçamento esgotado"
+                   : agenda.vazia() ? "agenda vazia"
+                   : precisaoAtingida ? "precisão atingida" : "interrompida";
+        Instrumentacao.termina(contadores, fim);
+    }
+
+    // Liga o rastreamento individual de clientes (espera, permanência e tempo de ponta a
+    // ponta com percentis). Chamar antes de executar. Os sorteios e as contagens são os
+    // mesmos do modo normal; só o custo por evento aumenta.
+    public void ativaRastreamento() {
+        if (eventos > 0) throw new IllegalStateException("rastreamento deve ser ativado antes de executar");
+        clientes = new Clientes(filas.size());
+    }
+
+    // Substitui as chegadas sintéticas pelas do trace (replay). Os instantes são relativos ao
+    // primeiro registro e divididos por 'fatorCarga' (2.0 = o mesmo tráfego em metade do
+    // tempo, ou seja, o dobro da carga). Se o trace traz demandas de serviço, o rastreamento
+    // de clientes é ligado para que cada cliente leve a sua até o servidor; as visitas
+    // seguintes (roteamento) sorteiam o serviço normalmente. Chamar antes de executar.
+    public void defineTrace(LeitorTrace trace, double fatorCarga) throws IOException {
+        if (eventos > 0) throw new IllegalStateException("trace deve ser definido antes de executar");
+        if (fatorCarga <= 0) throw new IllegalArgumentException("fatorCarga deve ser > 0");
+        this.trace = trace;
+        this.fatorCarga = fatorCarga;
+        if (trace.temServico() && clientes == null) clientes = new Clientes(filas.size());
+        iniciaTrace();
+    }
+
+    // Descarta a primeira chegada sintética e agenda a primeira do trace.
+    private void iniciaTrace() throws IOException {
+        agenda.limpa();
+        trace.volta();
+        if (trace.proximo()) {
+            inicioTrace = trace.chegada();
+            trace.volta();
+            agendaProximaDoTrace();
+        }
+    }
+
+    // Liga a detecção do transiente inicial (MSER-5, ver DetectorAquecimento): quando o
+    // aquecimento termina, as estatísticas das filas são zeradas e as métricas passam a
+    // valer só dali em diante. Chamar antes de executar.
+    public void ativaDeteccaoAquecimento() {
+        aquecimento = new DetectorAquecimento(filas.size());
+    }
+
+    // Roda janelas de eventos alimentando o detector até ele concluir. Devolve false se a
+    // simulação acabou (agenda ou orçamento) antes disso.
+    private boolean aquece() {
+        if (reocupar) reocupaServidores();
+        if (aquecimento == null || aquecimento.concluido()) return true;
+        acumulaTempos();
+        aquecimento.inicia(tempo, filas);
+        while (!aquecimento.concluido()) {
+            for (long i = aquecimento.janela(); i > 0; i--) {
+                if (!proximoEvento()) return false;
+            }
+            acumulaTempos();
+            if (aquecimento.observa(tempo, eventos, filas)) {
+                for (Fila f : filas) {
+                    f.zeraEstatisticas(tempo);
+                }
+                if (clientes != null) clientes.zeraEstatisticas();
+                inicioEstatisticas = tempo;
+                eventosDescartados = eventos;
+            }
+        }
+        return true;
+    }
+
+    // Processa um evento; false se a agenda acabou ou o orçamento não cobre o próximo evento.
+    private boolean proximoEvento() {
+        if (agenda.vazia()) return false;
+        int e = agenda.proximoEvento();
+        if (limiteAleatorios - usados < sorteiosNecessarios(e)) {
+            esgotado = true;
+            return false;
+        }
+        tempo = agenda.proximoTempo();
+        agenda.remove();
+        eventos++;
+        if ((eventos & Instrumentacao.MASCARA_PUBLICACAO) == 0) publica();
+
+        switch (tipo(e)) {
+            case CHEGADA:
+                processarChegada(fila(e));
+                break;
+            case SAIDA:
+                if (clientes == null) processarSaida(fila(e), classe(e));
+                else processarSaidaCliente(fila(e), classe(e));
+                break;
+        }
+        return true;
+    }
+
+    // ---------------- PARADA SEQUENCIAL ----------------
+    // Em vez de ir até o fim do orçamento, para assim que a população média e o tempo de
+    // resposta de todas as filas tiverem semi-amplitude relativa <= 'precisao' com a
+    // 'confianca' dada (médias em lotes, ver MediasLotes). 'limiteAleatorios' continua
+    // valendo como teto. Devolve true se a precisão foi atingida.
+    public boolean executarAtePrecisao(double precisao, double confianca) {
+        this.precisaoAlvo = precisao;
+        this.confiancaAlvo = confianca;
+        lotes = new MediasLotes(filas.size());
+        precisaoAtingida = false;
+        Instrumentacao.inicia(contadores, limiteAleatorios);
+        try {
+            return executaLotes(precisao, confianca);
+        } finally {
+            terminaInstrumentacao();
+        }
+    }
+
+    private boolean executaLotes(double precisao, double confianca) {
+        if (!aquece()) {
+            acumulaTempos();
+            return false;
+        }
+        lotes.inicia(tempo, filas);
+
+        boolean continua = true;
+        while (continua && !precisaoAtingida) {
+            for (long i = lotes.tamanhoLote(); i > 0; i--) {
+                if (!proximoEvento()) {
+                    continua = false;
                     break;
+                }
             }
+            if (!continua) break;
+            acumulaTempos();
+            lotes.fecha(tempo, filas);
+            precisaoAtingida = lotes.atingiu(precisao, confianca);
         }
+        acumulaTempos();
+        return precisaoAtingida;
+    }
+
+    public void simularAtePrecisao(double precisao, double confianca) {
+        executarAtePrecisao(precisao, confianca);
         relatorio();
+        relatorioPrecisao();
     }
 
     // ---------------- PROCESSAMENTO DE EVENTOS ----------------
-    private void processarChegada(Evento e) {
-        double proximaChegada = uniforme(chegadaMin, chegadaMax);
-        if (proximaChegada != Double.POSITIVE_INFINITY) {
-            agenda.add(new Evento(tempo + proximaChegada, CHEGADA, 0));
+    // O evento de chegada traz a fonte (ou, no replay, a fila de destino do registro).
+    private void processarChegada(int fonte) {
+        if (trace != null) {
+            processarChegadaTrace(fonte);
+            return;
+        }
+        double proximaChegada = sorteiaChegada(fonte, fonte == 0 ? chegada : distribuicaoFonte[fonte]);
+        agenda.agendar(tempo + proximaChegada, evento(CHEGADA, fonte));
+        int filaId = filaFonte[fonte];
+        int classe = classeFonte[fonte];
+        if (clientes == null) adicionarNaFila(filaId, classe, tempo);
+        else entraCliente(filaId, clientes.novo(tempo, classe));
+    }
+
+    private void processarChegadaTrace(int filaId) {
+        double demanda = demandaPendente;
+        agendaProximaDoTrace();
+        if (clientes == null) {
+            adicionarNaFila(filaId, 0, tempo);
+        } else {
+            int id = clientes.novo(tempo, 0);
+            clientes.defineDemanda(id, demanda);
+            entraCliente(filaId, id);
+        }
+    }
+
+    private void agendaProximaDoTrace() {
+        try {
+            if (!trace.proximo()) {
+                demandaPendente = Double.NaN;
+                return;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        adicionarNaFila(e.filaId, tempo);
+        int destino = trace.fila() >= 0 ? trace.fila() : filaEntrada;
+        if (destino >= filas.size()) {
+            throw new IllegalArgumentException("trace: registro " + trace.registros() + " aponta para a fila "
+                                               + (destino + 1) + ", a rede tem " + filas.size());
+        }
+        demandaPendente = trace.servico();
+        agenda.agendar((trace.chegada() - inicioTrace) / fatorCarga, evento(CHEGADA, destino));
     }
 
-    private void processarSaida(Evento e) {
-        Fila f = filas.get(e.filaId);
+    private void processarSaida(int filaId, int classe) {
+        Fila f = filas.get(filaId);
+        f.acumula(tempo);
         f.ocupados--;
         f.n--;
         f.saidas++;
-        rotearCliente(e.filaId, tempo);
+        f.saidasClasse[classe]++;
+        // O próximo da espera assume o servidor antes do roteamento, senão um cliente
+        // roteado para a própria fila ocuparia o servidor liberado e 'ocupados'
+        // passaria do número de servidores.
         if (f.espera > 0) {
             f.espera--;
             f.ocupados++;
-            double tempoServico = uniforme(f.servMin, f.servMax);
-            if (tempoServico != Double.POSITIVE_INFINITY) {
-                agenda.add(new Evento(tempo + tempoServico, SAIDA, e.filaId));
-            }
+            int proxima = f.classesEspera != null ? f.classesEspera.remove() : 0;
+            double tempoServico = sorteiaServico(filaId, f, proxima);
+            agenda.agendar(tempo + tempoServico, evento(SAIDA, proxima, filaId));
         }
+        rotearCliente(filaId, classe, tempo);
     }
     
     // ---------------- LOGICA DE FILA ----------------
-    private void adicionarNaFila(int filaId, double tempoAtual) {
+    private void adicionarNaFila(int filaId, int classe, double tempoAtual) {
         Fila f = filas.get(filaId);
         if (f.n >= f.capacidade) {
             f.perdas++;
         } else {
+            f.acumula(tempoAtual);
             f.n++;
             if (f.ocupados < f.servidores) {
                 f.ocupados++;
-                double tempoServico = uniforme(f.servMin, f.servMax);
-                 if (tempoServico != Double.POSITIVE_INFINITY) {
-                    agenda.add(new Evento(tempoAtual + tempoServico, SAIDA, filaId));
-                }
+                double tempoServico = sorteiaServico(filaId, f, classe);
+                agenda.agendar(tempoAtual + tempoServico, evento(SAIDA, classe, filaId));
             } else {
                 f.espera++;
+                if (f.classesEspera != null) f.classesEspera.adiciona(classe);
             }
         }
     }
 
+    // ---------------- LOGICA DE FILA COM RASTREAMENTO ----------------
+    // Mesmos passos (e mesmos sorteios, na mesma ordem) de adicionarNaFila/processarSaida,
+    // carregando o índice do cliente; a espera é atendida em ordem de chegada.
+    private void entraCliente(int filaId, int id) {
+        Fila f = filas.get(filaId);
+        if (f.n >= f.capacidade) {
+            f.perdas++;
+            clientes.perde(id);
+            return;
+        }
+        f.acumula(tempo);
+        f.n++;
+        clientes.chega(id, filaId, tempo);
+        if (f.ocupados < f.servidores) {
+            f.ocupados++;
+            clientes.iniciaServico(id, tempo);
+            double tempoServico = servicoDoCliente(filaId, f, id);
+            agenda.agendar(tempo + tempoServico, evento(SAIDA, clientes.classe(id), id));
+        } else {
+            f.espera++;
+            clientes.aguarda(filaId, id);
+        }
+    }
+
+    // Demanda do trace, se o cliente trouxe uma para este serviço; senão sorteia.
+    private double servicoDoCliente(int filaId, Fila f, int id) {
+        double d = clientes.tomaDemanda(id);
+        return Double.isNaN(d) ? sorteiaServico(filaId, f, clientes.classe(id)) : d;
+    }
+
+    private void processarSaidaCliente(int id, int classe) {
+        int filaId = clientes.fila(id);
+        Fila f = filas.get(filaId);
+        f.acumula(tempo);
+        f.ocupados--;
+        f.n--;
+        f.saidas++;
+        f.saidasClasse[classe]++;
+        clientes.sai(id, tempo);
+        if (f.espera > 0) {
+            f.espera--;
+            f.ocupados++;
+            int proximo = clientes.proximoDaEspera(filaId);
+            clientes.iniciaServico(proximo, tempo);
+            double tempoServico = servicoDoCliente(filaId, f, proximo);
+            agenda.agendar(tempo + tempoServico, evento(SAIDA, clientes.classe(proximo), proximo));
+        }
+        int destino = sorteiaDestino(filaId, classe);
+        if (destino != Roteamento.SAIDA_SISTEMA) {
+            entraCliente(destino, id);
+        } else {
+            clientes.conclui(id, tempo);
+        }
+    }
+
     // ---------------- ROTEAMENTO ----------------
-    private void rotearCliente(int filaOrigemId, double tempoAtual) {
-        double p = rng.nextDouble();
-        double p_acumulada = 0.0;
-        
-        double[] destinos = matrizRoteamento[filaOrigemId];
-        for (int filaDestinoId = 0; filaDestinoId < destinos.length; filaDestinoId++) {
-            p_acumulada += destinos[filaDestinoId];
-            if (p < p_acumulada) {
-                adicionarNaFila(filaDestinoId, tempoAtual);
-                return;
+    private void rotearCliente(int filaOrigemId, int classe, double tempoAtual) {
+        int destino = sorteiaDestino(filaOrigemId, classe);
+        if (destino != Roteamento.SAIDA_SISTEMA) {
+            adicionarNaFila(destino, classe, tempoAtual);
+        }
+    }
+
+    // ---------------- CHECKPOINT ----------------
+    // salvaEstado grava tudo o que a continuação da execução precisa: relógio, contadores,
+    // orçamento, agenda, estado e estatísticas de cada fila e o estado dos geradores (com os
+    // números já gerados e ainda não consumidos do bloco). A configuração (parâmetros das
+    // filas, distribuições, roteamento, fontes e classes) não vai no arquivo: restauraEstado
+    // troca o estado de um simulador já construído com o mesmo número de filas, fontes e
+    // classes, e o orçamento passa a ser o do arquivo.
+    //
+    // Com a mesma configuração, restaurar, estendeOrcamento(n) e executar dá o mesmo
+    // resultado que executar com o orçamento maior desde o início. Com outra configuração
+    // (servidores, capacidades, serviços, roteamento) é um ramo da mesma execução: vários
+    // pontos de uma varredura partem de um estado já aquecido em vez de esperar o transiente
+    // de novo. Por padrão os ramos continuam com os mesmos geradores (números comuns);
+    // com 'fonte' != null, com geradores independentes.
+    //
+    // Não suportados: rastreamento de clientes, replay de trace, parada sequencial, detecção
+    // de aquecimento em andamento e geradores sem estado acessível (só FonteLcg48 e a
+    // antitética sobre ela).
+    public void salvaEstado(Path arquivo) throws IOException {
+        if (clientes != null) throw new IllegalStateException("checkpoint não guarda o rastreamento de clientes");
+        if (trace != null) throw new IllegalStateException("checkpoint não guarda a posição no trace");
+        if (lotes != null) throw new IllegalStateException("checkpoint não guarda as médias em lotes da parada sequencial");
+        if (aquecimento != null && !aquecimento.concluido()) {
+            throw new IllegalStateException("checkpoint durante a detecção de aquecimento");
+        }
+        acumulaTempos();
+        try (Checkpoint.Saida s = new Checkpoint.Saida(arquivo)) {
+            s.inteiro(filas.size());
+            s.inteiro(numFontes);
+            s.inteiro(numClasses);
+            s.real(tempo);
+            s.longo(eventos);
+            s.longo(usados);
+            s.longo(limiteAleatorios);
+            s.logico(esgotado);
+            s.logico(aquecimento != null);
+            s.real(inicioEstatisticas);
+            s.longo(eventosDescartados);
+            aleatorios.grava(s);
+            s.logico(fluxosServico != null);
+            if (fluxosServico != null) {
+                for (int i = 0; i < filas.size(); i++) {
+                    fluxosServico[i].grava(s);
+                    fluxosRota[i].grava(s);
+                }
+                for (int j = 0; j < numFontes; j++) fluxosChegada[j].grava(s);
+            }
+            s.inteiro(agenda.tamanho());
+            for (int i = 0; i < agenda.tamanho(); i++) {
+                s.real(agenda.tempo(i));
+                s.inteiro(agenda.evento(i));
+            }
+            for (Fila f : filas) f.grava(s);
+        }
+    }
+
+    public void restauraEstado(Path arquivo) throws IOException {
+        restauraEstado(arquivo, null);
+    }
+
+    public void restauraEstado(Path arquivo, FonteAleatoria fonte) throws IOException {
+        if (clientes != null || trace != null) {
+            throw new IllegalStateException("checkpoint não guarda rastreamento de clientes nem replay de trace");
+        }
+        try (Checkpoint.Entrada e = new Checkpoint.Entrada(arquivo)) {
+            int k = e.inteiro();
+            int fontes = e.inteiro();
+            int classes = e.inteiro();
+            if (k != filas.size() || fontes != numFontes || classes != numClasses) {
+                throw e.erro("checkpoint de uma rede com " + k + " filas, " + fontes + " fontes e " + classes
+                             + " classes; este simulador tem " + filas.size() + ", " + numFontes + " e " + numClasses);
+            }
+            tempo = e.real();
+            eventos = e.longo();
+            usados = e.longo();
+            limiteAleatorios = e.longo();
+            esgotado = e.logico();
+            boolean aquecido = e.logico();
+            inicioEstatisticas = e.real();
+            eventosDescartados = e.longo();
+            aleatorios.restaura(e);
+            if (e.logico()) {
+                if (fluxosServico == null) alocaFluxosDedicados();
+                for (int i = 0; i < k; i++) {
+                    fluxosServico[i].restaura(e);
+                    fluxosRota[i].restaura(e);
+                }
+                for (int j = 0; j < numFontes; j++) fluxosChegada[j].restaura(e);
+            } else {
+                fluxosServico = null;
+                fluxosRota = null;
+                fluxosChegada = null;
+            }
+            agenda.limpa();
+            for (int n = e.inteiro(); n > 0; n--) {
+                double t = e.real();
+                agenda.agendar(t, e.inteiro());
+            }
+            for (Fila f : filas) f.restaura(e);
+            // o estado gravado já está depois do aquecimento; sem aquecimento no arquivo,
+            // a detecção deste simulador (se ativa) começa do estado restaurado
+            if (aquecido) aquecimento = null;
+        }
+        if (fonte != null) {
+            aleatorios.reinicia(fonte);
+            if (fluxosServico != null) criaFluxosDedicados(fonte);
+        }
+        lotes = null;
+        precisaoAtingida = false;
+        reocupar = true;
+    }
+
+    // Mais 'n' números aleatórios de orçamento; o próximo executar continua de onde parou.
+    public void estendeOrcamento(long n) {
+        limiteAleatorios += n;
+        esgotado = false;
+    }
+
+    // Clientes em espera assumem servidores livres (restaurado com mais servidores que no
+    // checkpoint), sorteando o serviço agora, dentro do orçamento.
+    private void reocupaServidores() {
+        reocupar = false;
+        for (int i = 0; i < filas.size(); i++) {
+            Fila f = filas.get(i);
+            while (f.espera > 0 && f.ocupados < f.servidores) {
+                if (limiteAleatorios - usados < 1) {
+                    reocupar = true;
+                    return;
+                }
+                f.espera--;
+                f.ocupados++;
+                int classe = f.classesEspera != null ? f.classesEspera.remove() : 0;
+                agenda.agendar(tempo + sorteiaServico(i, f, classe), evento(SAIDA, classe, i));
             }
         }
     }
 
+    // ---------------- ACESSO AOS RESULTADOS ----------------
+    List<Fila> getFilas() {
+        return filas;
+    }
+
+    double getTempo() {
+        return tempo;
+    }
+
+    // Tempo coberto pelas estatísticas das filas (o total menos o aquecimento descartado).
+    double getTempoEstatisticas() {
+        return tempo - inicioEstatisticas;
+    }
+
+    long getUsados() {
+        return usados;
+    }
+
+    long getEventos() {
+        return eventos;
+    }
+
+    Clientes getClientes() {
+        return clientes;
+    }
+
+    MediasLotes getLotes() {
+        return lotes;
+    }
+
+    // true se a simulação parou por falta de números aleatórios (e não por agenda vazia).
+    boolean isEsgotado() {
+        return esgotado;
+    }
+
     // ---------------- RELATORIO ----------------
     private void relatorio() {
+        acumulaTempos();
         System.out.println("==============================================");
         System.out.printf("Tempo total de simulação: %.2f%n", tempo);
         System.out.println("Números aleatórios usados: " + usados);
+        if (aquecimento != null) {
+            if (aquecimento.detectado()) {
+                System.out.printf("Aquecimento (MSER-5): transiente até t=%.2f (%d eventos); " +
+                                  "estatísticas a partir de t=%.2f (%d eventos descartados)%n",
+                                  aquecimento.tempoTransiente(), aquecimento.eventosTransiente(),
+                                  inicioEstatisticas, eventosDescartados);
+            } else {
+                System.out.println("Aquecimento (MSER-5): transiente não detectado; estatísticas desde t=0");
+            }
+        }
         System.out.println("==============================================");
 
         for (int i = 0; i < filas.size(); i++) {
             mostraFila(i + 1, filas.get(i));
         }
+        if (clientes != null) relatorioLatencias();
+    }
+
+    private void relatorioLatencias() {
+        System.out.println("\nLatência por cliente (FIFO), em unidades de tempo:");
+        System.out.printf("%-26s %10s %10s %10s %10s %10s %10s%n",
+                          "", "clientes", "média", "p50", "p99", "p99.9", "máx");
+        for (int i = 0; i < filas.size(); i++) {
+            mostraLatencia("Fila " + (i + 1) + " espera", clientes.espera[i]);
+            mostraLatencia("Fila " + (i + 1) + " permanência", clientes.permanencia[i]);
+        }
+        mostraLatencia("Sistema (ponta a ponta)", clientes.sistema);
+        System.out.printf("Visitas por cliente concluído: %.3f; clientes perdidos: %d%n",
+                          clientes.concluidos > 0 ? (double) clientes.visitasConcluidos / clientes.concluidos : 0.0,
+                          clientes.perdidos);
+        System.out.println("==============================================");
+    }
+
+    private static void mostraLatencia(String nome, HistogramaLatencia h) {
+        System.out.printf("%-26s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", nome, h.contagem(), h.media(),
+                          h.percentil(0.50), h.percentil(0.99), h.percentil(0.999), h.maximo());
+    }
+
+    // Estimativas por médias em lotes e o custo (eventos e aleatórios) para chegar nelas.
+    private void relatorioPrecisao() {
+        System.out.println("\n==============================================");
+        System.out.printf("Parada sequencial: precisão relativa %.1f%% com confiança %.0f%% %s%n",
+                          precisaoAlvo * 100, confiancaAlvo * 100,
+                          precisaoAtingida ? "atingida" : "NÃO atingida (" + (esgotado ? "orçamento esgotado" : "agenda vazia") + ")");
+        System.out.println("Eventos: " + eventos + ", números aleatórios: " + usados);
+        System.out.println("Lotes: " + lotes.lotes() + " de " + lotes.tamanhoLote() + " eventos");
+        for (int i = 0; i < filas.size(); i++) {
+            Estatistica.Amostra pop = lotes.populacao(i);
+            Estatistica.Amostra resp = lotes.resposta(i);
+            System.out.printf("Fila %d: população média %.4f ± %.4f, tempo de resposta %.4f ± %.4f%n", i + 1,
+                              pop.media, pop.semiAmplitude(confiancaAlvo),
+                              resp.media, resp.semiAmplitude(confiancaAlvo));
+        }
+        System.out.println("==============================================");
     }
 
     private void mostraFila(int idx, Fila f) {
+        double duracao = getTempoEstatisticas();
         String nome = "Fila " + idx;
         System.out.println("\n--- " + nome + " ---");
         System.out.println("Capacidade: " + (f.capacidade == Integer.MAX_VALUE ? "Infinita" : f.capacidade) +
                            ", Servidores: " + f.servidores);
-        System.out.printf("Chegadas entre %.0f e %.0f%n", chegadaMin, chegadaMax);
-        System.out.printf("Atendimento entre %.0f e %.0f%n", f.servMin, f.servMax);
+        if (trace != null || numFontes == 1) {
+            System.out.println("Chegadas " + (trace != null ? "do trace" + (fatorCarga != 1.0 ? String.format(" (carga x%.2f)", fatorCarga) : "")
+                                                            : chegada.descricao()));
+        } else {
+            boolean alguma = false;
+            for (int i = 0; i < numFontes; i++) {
+                if (filaFonte[i] != idx - 1) continue;
+                System.out.println("Chegadas" + (numClasses > 1 ? " (classe " + classeFonte[i] + ") " : " ")
+                                   + (i == 0 ? chegada : distribuicaoFonte[i]).descricao());
+                alguma = true;
+            }
+            if (!alguma) System.out.println("Chegadas externas: nenhuma");
+        }
+        System.out.println("Atendimento " + f.servico.descricao()
+                           + (trace != null && trace.temServico() ? " (chegadas externas: demanda do trace)" : ""));
+        if (f.servicoClasse != null) {
+            for (int c = 1; c < numClasses; c++) {
+                if (f.servicoClasse[c] != null) {
+                    System.out.println("Atendimento (classe " + c + ") " + f.servicoClasse[c].descricao());
+                }
+            }
+        }
         System.out.println("Distribuição de tempo por estado:");
-        for (int i = 0; i < f.tempos.length; i++) {
-            if (f.tempos[i] > 1e-6) {
-                double p = (tempo > 0) ? (f.tempos[i] / tempo * 100) : 0;
-                System.out.printf("%3d clientes: tempo=%.2f (%.2f%%)%n", i, f.tempos[i], p);
+        for (int i = 0; i <= f.tempos.maiorEstado(); i++) {
+            double t = f.tempos.get(i);
+            if (t > 1e-6) {
+                double p = (duracao > 0) ? (t / duracao * 100) : 0;
+                System.out.printf("%3d clientes: tempo=%.2f (%.2f%%)%n", i, t, p);
             }
         }
-
-        double somaTempoPonderado = 0.0;
-        for (int i = 0; i < f.tempos.length; i++) {
-            somaTempoPonderado += i * f.tempos[i];
+        if (f.tempos.estadosEsparsos() > 0) {
+            System.out.printf("Estados acima de %d: %d (maior estado: %d)%n",
+                              HistogramaEstados.LIMITE_DENSO - 1, f.tempos.estadosEsparsos(), f.tempos.maiorEstado());
         }
-        double totalTempo = tempo > 0 ? tempo : 1.0;
-        double populacaoMedia = somaTempoPonderado / totalTempo;
-        double vazao = f.saidas / totalTempo;
-        double mediaServico = (f.servMin + f.servMax) / 2.0;
-        double utilizacao = Math.min(1.0, (f.servidores > 0 ? (vazao * mediaServico) / f.servidores : 0.0));
-        double tempoResposta = vazao > 0 ? (populacaoMedia / vazao) : 0.0;
+
+        double totalTempo = duracao > 0 ? duracao : 1.0;
+        double populacaoMedia = f.populacaoMedia(totalTempo);
+        double vazao = f.vazao(totalTempo);
+        double utilizacao = f.utilizacao(totalTempo);
+        double tempoResposta = f.tempoResposta(totalTempo);
         StringBuilder estadosSb = new StringBuilder();
         estadosSb.append("{");
         boolean primeiro = true;
-        for (int i = 0; i < f.tempos.length; i++) {
-            if (f.tempos[i] > 1e-6) {
-                double perc = (f.tempos[i] / totalTempo) * 100.0;
+        for (int i = 0; i <= f.tempos.maiorEstado(); i++) {
+            double t = f.tempos.get(i);
+            if (t > 1e-6) {
+                double perc = (t / totalTempo) * 100.0;
                 double arred = Math.round(perc * 100.0) / 100.0;
                 if (!primeiro) estadosSb.append(", ");
                 estadosSb.append(i).append("=").append(arred);
@@ -234,6 +1227,14 @@ public class SimuladorRede {
         System.out.printf("   - Utilização:            %.2f%n", utilizacao);
         System.out.printf("   - Tempo de resposta:     %.2f%n", tempoResposta);
         System.out.printf("   - Perdas:                %d%n", f.perdas);
+        if (numClasses > 1) {
+            StringBuilder porClasse = new StringBuilder();
+            for (int c = 0; c < numClasses; c++) {
+                if (c > 0) porClasse.append(", ");
+                porClasse.append(c).append("=").append(f.saidasClasse[c]);
+            }
+            System.out.println("   - Saídas por classe:     {" + porClasse + "}");
+        }
         System.out.println("==============================================");
     }
 
@@ -0,0 +1,286 @@
+import java.util.*;
+
+// Solução analítica da mesma rede do SimuladorRede (paramsFilas, matrizRoteamento, chegadas
+// externas na fila de entrada), em microssegundos em vez de uma execução do laço de eventos:
+// triagem de configurações antes de simular e oráculo para conferir os simuladores.
+//
+// Cada fila é tratada como M/M/c/K com as médias de chegada e serviço configuradas: exato para
+// chegadas Poisson e serviços exponenciais (rede de Jackson, forma produto) quando todas as
+// capacidades são infinitas; com distribuições uniformes só as médias entram, então é uma
+// aproximação. Com capacidade finita a fila é resolvida exatamente (nascimento e morte), mas
+// a rede não tem mais forma produto: os clientes bloqueados saem do sistema (como no
+// simulador) e as equações de tráfego são resolvidas em ponto fixo com o fluxo que passa
+// de cada fila, uma decomposição aproximada.
+public class SolverAnalitico {
+
+    static final int MAX_ITERACOES = 10_000;
+    static final double TOLERANCIA = 1e-12;
+    static final double PROBABILIDADE_MINIMA = 1e-9;  // cauda do estado infinito mostrada
+    static final double ESCALA = 1e200;
+
+    // ---------------- PARAMETROS ----------------
+    private final int numFilas;
+    private final int[] capacidade;      // Integer.MAX_VALUE = infinita
+    private final int[] servidores;
+    private final double[] mediaServico;
+    private final double[][] roteamento;
+    private final double[] externas;     // taxa de chegadas externas por fila
+    private final int filaEntrada;
+
+    // ---------------- SOLUCAO ----------------
+    private double[] chegada;            // taxa que chega (antes do bloqueio)
+    private double[] bloqueio;           // P(fila cheia) = P(n = K)
+    private double[][] probabilidades;   // [fila][n], até a cauda desprezível
+    private double[] populacao;
+    private boolean[] instavel;
+    private int iteracoes;
+    private long duracaoNanos;
+
+    // ---------------- CONSTRUTORES ----------------
+    // Mesmos parâmetros do SimuladorRede: chegadas uniformes em [chegadaMin, chegadaMax] na Fila 1.
+    public SolverAnalitico(double chegadaMin, double chegadaMax, List<double[]> paramsFilas, double[][] matrizRoteamento) {
+        this(2.0 / (chegadaMin + chegadaMax), 0, paramsFilas, matrizRoteamento);
+    }
+
+    // Taxa de chegadas externas (1 / tempo médio entre chegadas) direto na fila de entrada.
+    // Fábrica, e não construtor, para new SolverAnalitico(5, 10, ...) não cair aqui.
+    public static SolverAnalitico comTaxa(double taxaChegada, int filaEntrada, List<double[]> paramsFilas,
+                                          double[][] matrizRoteamento) {
+        return new SolverAnalitico(taxaChegada, filaEntrada, paramsFilas, matrizRoteamento);
+    }
+
+    private SolverAnalitico(double taxaChegada, int filaEntrada, List<double[]> paramsFilas, double[][] matrizRoteamento) {
+        numFilas = paramsFilas.size();
+        if (matrizRoteamento.length != numFilas) {
+            throw new IllegalArgumentException("roteamento com " + matrizRoteamento.length + " filas, a rede tem " + numFilas);
+        }
+        capacidade = new int[numFilas];
+        servidores = new int[numFilas];
+        mediaServico = new double[numFilas];
+        for (int i = 0; i < numFilas; i++) {
+            double[] p = paramsFilas.get(i);
+            capacidade[i] = p[0] == 0 ? Integer.MAX_VALUE : (int) p[0];
+            servidores[i] = (int) p[1];
+            if (servidores[i] < 1) throw new IllegalArgumentException("fila " + (i + 1) + " sem servidores");
+            mediaServico[i] = (p[2] + p[3]) / 2.0;
+        }
+        roteamento = matrizRoteamento;
+        externas = new double[numFilas];
+        externas[filaEntrada] = taxaChegada;
+        this.filaEntrada = filaEntrada;
+    }
+
+    // ---------------- DISTRIBUICOES ----------------
+    // Como em SimuladorRede: troca chegadas/serviço; só a média é usada. Chamar antes de resolve.
+    public SolverAnalitico defineChegadas(Distribuicao d) {
+        externas[filaEntrada] = 1.0 / d.media();
+        return this;
+    }
+
+    public SolverAnalitico defineServico(int filaId, Distribuicao d) {
+        mediaServico[filaId] = d.media();
+        return this;
+    }
+
+    // ---------------- SOLUCAO ----------------
+    // Equações de tráfego: chegada_i = externas_i + soma_j chegada_j (1 - bloqueio_j) p_ji.
+    // Sem capacidade finita o bloqueio é zero e basta um sistema linear.
+    public SolverAnalitico resolve() {
+        long inicio = System.nanoTime();
+        bloqueio = new double[numFilas];
+        probabilidades = new double[numFilas][];
+        populacao = new double[numFilas];
+        instavel = new boolean[numFilas];
+        double[] anterior = new double[numFilas];
+        iteracoes = 0;
+        while (true) {
+            chegada = trafego(bloqueio);
+            double variacao = 0.0;
+            for (int i = 0; i < numFilas; i++) {
+                resolveFila(i);
+                variacao = Math.max(variacao, Math.abs(bloqueio[i] - anterior[i]));
+                anterior[i] = bloqueio[i];
+            }
+            iteracoes++;
+            if (variacao < TOLERANCIA) break;
+            if (iteracoes == MAX_ITERACOES) {
+                throw new IllegalStateException("equações de tráfego não convergiram em " + MAX_ITERACOES + " iterações");
+            }
+        }
+        duracaoNanos = System.nanoTime() - inicio;
+        return this;
+    }
+
+    // (I - P^T diag(1 - bloqueio)) x = externas, por eliminação de Gauss com pivoteamento parcial.
+    private double[] trafego(double[] bloqueio) {
+        int n = numFilas;
+        double[][] a = new double[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = (i == j ? 1.0 : 0.0) - roteamento[j][i] * (1.0 - bloqueio[j]);
+            }
+            a[i][n] = externas[i];
+        }
+        for (int c = 0; c < n; c++) {
+            int pivo = c;
+            for (int l = c + 1; l < n; l++) {
+                if (Math.abs(a[l][c]) > Math.abs(a[pivo][c])) pivo = l;
+            }
+            if (Math.abs(a[pivo][c]) < 1e-14) {
+                throw new IllegalArgumentException("rede fechada: clientes nunca saem do sistema a partir da fila " + (c + 1));
+            }
+            double[] t = a[c];
+            a[c] = a[pivo];
+            a[pivo] = t;
+            for (int l = c + 1; l < n; l++) {
+                double f = a[l][c] / a[c][c];
+                if (f == 0.0) continue;
+                for (int k = c; k <= n; k++) a[l][k] -= f * a[c][k];
+            }
+        }
+        double[] x = new double[n];
+        for (int l = n - 1; l >= 0; l--) {
+            double s = a[l][n];
+            for (int k = l + 1; k < n; k++) s -= a[l][k] * x[k];
+            x[l] = s / a[l][l];
+        }
+        return x;
+    }
+
+    // M/M/c/K por nascimento e morte: p_n = p_{n-1} * a / min(n, c), com a = chegada * E[S].
+    // Capacidade infinita: estados até c explícitos e a cauda geométrica de razão rho somada
+    // em forma fechada (só é guardada até ficar desprezível).
+    private void resolveFila(int i) {
+        int c = servidores[i];
+        double a = chegada[i] * mediaServico[i];
+        boolean infinita = capacidade[i] == Integer.MAX_VALUE;
+        double rho = c > 0 ? a / c : Double.POSITIVE_INFINITY;
+        if (infinita && rho >= 1.0) {
+            instavel[i] = true;
+            bloqueio[i] = 0.0;
+            populacao[i] = Double.POSITIVE_INFINITY;
+            probabilidades[i] = new double[0];
+            return;
+        }
+        instavel[i] = false;
+
+        int limite = infinita ? c : capacidade[i];
+        double[] termos = new double[limite + 1];
+        double termo = 1.0;
+        double soma = 1.0;
+        double somaN = 0.0;
+        termos[0] = 1.0;
+        for (int n = 1; n <= limite; n++) {
+            termo *= a / Math.min(n, c);
+            if (termo > ESCALA) {
+                // K grande com rho > 1: reescala tudo para não estourar o double
+                for (int m = 0; m < n; m++) termos[m] /= ESCALA;
+                termo /= ESCALA;
+                soma /= ESCALA;
+                somaN /= ESCALA;
+            }
+            termos[n] = termo;
+            soma += termo;
+            somaN += n * termo;
+        }
+        int cauda = 0;
+        if (infinita) {
+            // termos n > c: p_c rho^m, m >= 1
+            soma += termo * rho / (1.0 - rho);
+            somaN += termo * (c * rho / (1.0 - rho) + rho / ((1.0 - rho) * (1.0 - rho)));
+            for (double t = termo * rho; t / soma > PROBABILIDADE_MINIMA; t *= rho) cauda++;
+        }
+        double[] p = Arrays.copyOf(termos, termos.length + cauda);
+        for (int n = termos.length; n < p.length; n++) p[n] = p[n - 1] * rho;
+        for (int n = 0; n < p.length; n++) p[n] /= soma;
+        probabilidades[i] = p;
+        populacao[i] = somaN / soma;
+        bloqueio[i] = infinita ? 0.0 : probabilidades[i][capacidade[i]];
+    }
+
+    // ---------------- METRICAS ----------------
+    // As mesmas do relatório do simulador, por unidade de tempo em regime.
+    double populacaoMedia(int i) {
+        return populacao[i];
+    }
+
+    double vazao(int i) {
+        return chegada[i] * (1.0 - bloqueio[i]);
+    }
+
+    double utilizacao(int i) {
+        if (instavel[i]) return 1.0;
+        return servidores[i] > 0 ? vazao(i) * mediaServico[i] / servidores[i] : 0.0;
+    }
+
+    double tempoResposta(int i) {
+        double x = vazao(i);
+        return x > 0 ? populacao[i] / x : 0.0;
+    }
+
+    double taxaPerdas(int i) {
+        return chegada[i] * bloqueio[i];
+    }
+
+    double[] probabilidades(int i) {
+        return probabilidades[i];
+    }
+
+    boolean instavel(int i) {
+        return instavel[i];
+    }
+
+    // Mesmos números num Resultado (perdas esperadas em 'tempo'), para gravar ou comparar
+    // com as réplicas.
+    Resultado resultado(double tempo) {
+        Resultado r = new Resultado(numFilas);
+        r.semente = -1;
+        r.tempo = tempo;
+        r.tempoEstatisticas = tempo;
+        for (int i = 0; i < numFilas; i++) {
+            r.capacidade[i] = capacidade[i] == Integer.MAX_VALUE ? 0 : capacidade[i];
+            r.servidores[i] = servidores[i];
+            r.populacao[i] = populacao[i];
+            r.vazao[i] = vazao(i);
+            r.utilizacao[i] = utilizacao(i);
+            r.resposta[i] = tempoResposta(i);
+            r.perdas[i] = (int) Math.round(taxaPerdas(i) * tempo);
+            r.saidas[i] = (int) Math.round(vazao(i) * tempo);
+            r.proporcoes[i] = probabilidades[i].clone();
+        }
+        return r;
+    }
+
+    // ---------------- RELATORIO ----------------
+    public void relatorio() {
+        System.out.println("==============================================");
+        System.out.printf("Solução analítica (M/M/c/K por fila): %d iteração(ões), %.1f µs%n",
+                          iteracoes, duracaoNanos / 1e3);
+        System.out.println("==============================================");
+        for (int i = 0; i < numFilas; i++) mostraFila(i);
+    }
+
+    private void mostraFila(int i) {
+        System.out.println("\n--- Fila " + (i + 1) + " ---");
+        System.out.println("Capacidade: " + (capacidade[i] == Integer.MAX_VALUE ? "Infinita" : capacidade[i]) +
+                           ", Servidores: " + servidores[i]);
+        System.out.printf("Chegadas: taxa %.4f, atendimento médio %.2f%n", chegada[i], mediaServico[i]);
+        if (instavel[i]) {
+            System.out.printf("INSTÁVEL: utilização oferecida %.2f >= 1, a fila cresce sem limite%n",
+                              chegada[i] * mediaServico[i] / servidores[i]);
+            System.out.println("==============================================");
+            return;
+        }
+        System.out.println("Distribuição de probabilidade por estado:");
+        double[] p = probabilidades[i];
+        for (int n = 0; n < p.length; n++) {
+            if (p[n] >= 5e-5) System.out.printf("%3d clientes: %.2f%%%n", n, p[n] * 100);
+        }
+        System.out.printf("   - População média:       %.2f%n", populacaoMedia(i));
+        System.out.printf("   - Vazão:                 %.4f%n", vazao(i));
+        System.out.printf("   - Utilização:            %.2f%n", utilizacao(i));
+        System.out.printf("   - Tempo de resposta:     %.2f%n", tempoResposta(i));
+        System.out.printf("   - Perdas por tempo:      %.6f (bloqueio %.4f%%)%n", taxaPerdas(i), bloqueio[i] * 100);
+        System.out.println("==============================================");
+    }
+}
@@ -0,0 +1,352 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// Varredura de parâmetros da rede (planejamento de experimentos).
+// Parte de uma configuração base (a mesma do App) e de dimensões que variam servidores,
+// capacidade, intervalo de serviço ou probabilidade de roteamento; executa a grade completa
+// ou uma busca por bissecção numa dimensão monótona ("menor número de servidores com perda
+// abaixo de 1%").
+//
+// Os pontos são distribuídos entre threads; cada thread mantém um único SimuladorRede e o
+// reinicia a cada ponto/réplica (SimuladorRede.reinicia), então a agenda, os histogramas e o
+// código compilado pelo JIT são reaproveitados entre milhares de configurações.
+// Todas as configurações usam as mesmas sementes (números aleatórios comuns), o que deixa as
+// diferenças entre pontos vizinhos menos ruidosas.
+public class Varredura {
+
+    // ---------------- DIMENSOES ----------------
+    // Aplica o valor de índice 'indice' de uma dimensão numa cópia dos parâmetros da rede.
+    interface Ajuste {
+        void aplica(List<double[]> paramsFilas, double[][] matriz, int indice);
+    }
+
+    static final class Dimensao {
+        final String nome;
+        final String[] rotulos;
+        final Ajuste ajuste;
+
+        Dimensao(String nome, String[] rotulos, Ajuste ajuste) {
+            if (rotulos.length == 0) throw new IllegalArgumentException("dimensão '" + nome + "' sem valores");
+            this.nome = nome;
+            this.rotulos = rotulos;
+            this.ajuste = ajuste;
+        }
+    }
+
+    // ---------------- RESULTADO DE UM PONTO ----------------
+    // Médias sobre as réplicas, por fila.
+    static final class Ponto {
+        final int indice;
+        final int[] coordenadas;    // índice do valor em cada dimensão
+        final double[] perda;       // perdas / clientes que chegaram na fila
+        final double[] utilizacao;
+        final double[] resposta;
+
+        Ponto(int indice, int[] coordenadas, int numFilas) {
+            this.indice = indice;
+            this.coordenadas = coordenadas;
+            this.perda = new double[numFilas];
+            this.utilizacao = new double[numFilas];
+            this.resposta = new double[numFilas];
+        }
+    }
+
+    // ---------------- CONFIGURACAO BASE ----------------
+    private final double chegadaMin, chegadaMax;
+    private final List<double[]> paramsBase = new ArrayList<>();
+    private final double[][] matrizBase;
+    private final double primeiraChegada;
+    private final long limiteAleatorios;
+
+    private final List<Dimensao> dimensoes = new ArrayList<>();
+    private int replicacoes = 1;
+    private long sementeInicial = 1;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private final AtomicInteger simulacoes = new AtomicInteger();
+    private EscritorResultados saida;
+
+    public Varredura(
+        double chegadaMin, double chegadaMax,
+        List<double[]> paramsFilas,
+        double[][] matrizRoteamento,
+        double primeiraChegada,
+        long limiteAleatorios
+    ) {
+        this.chegadaMin = chegadaMin;
+        this.chegadaMax = chegadaMax;
+        for (double[] p : paramsFilas) paramsBase.add(p.clone());
+        this.matrizBase = new double[matrizRoteamento.length][];
+        for (int i = 0; i < matrizRoteamento.length; i++) matrizBase[i] = matrizRoteamento[i].clone();
+        this.primeiraChegada = primeiraChegada;
+        this.limiteAleatorios = limiteAleatorios;
+    }
+
+    public Varredura replicacoes(int replicacoes, long sementeInicial) {
+        this.replicacoes = replicacoes;
+        this.sementeInicial = sementeInicial;
+        return this;
+    }
+
+    public Varredura threads(int threads) {
+        this.threads = Math.max(1, threads);
+        return this;
+    }
+
+    // Grava cada réplica de cada ponto avaliado (Resultado com 'ponto' = índice na grade),
+    // na ordem em que as threads terminam. Quem chama fecha o escritor depois de executar.
+    public Varredura saida(EscritorResultados saida) {
+        this.saida = saida;
+        return this;
+    }
+
+    // 'fila' e 'origem'/'destino' são índices a partir de 0, como em paramsFilas.
+    public Varredura servidores(int fila, int... valores) {
+        String[] rotulos = new String[valores.length];
+        for (int i = 0; i < valores.length; i++) rotulos[i] = Integer.toString(valores[i]);
+        return dimensao(new Dimensao("Q" + (fila + 1) + " serv", rotulos,
+                                     (p, m, i) -> p.get(fila)[1] = valores[i]));
+    }
+
+    // 0 = capacidade infinita, como em paramsFilas.
+    public Varredura capacidade(int fila, int... valores) {
+        String[] rotulos = new String[valores.length];
+        for (int i = 0; i < valores.length; i++) rotulos[i] = valores[i] == 0 ? "inf" : Integer.toString(valores[i]);
+        return dimensao(new Dimensao("Q" + (fila + 1) + " cap", rotulos,
+                                     (p, m, i) -> p.get(fila)[0] = valores[i]));
+    }
+
+    // Cada intervalo é {servico_min, servico_max}.
+    public Varredura servico(int fila, double[]... intervalos) {
+        String[] rotulos = new String[intervalos.length];
+        for (int i = 0; i < intervalos.length; i++) {
+            if (intervalos[i].length != 2) throw new IllegalArgumentException("intervalo de serviço deve ser {min, max}");
+            rotulos[i] = String.format("%.1f-%.1f", intervalos[i][0], intervalos[i][1]);
+        }
+        return dimensao(new Dimensao("Q" + (fila + 1) + " serviço", rotulos, (p, m, i) -> {
+            p.get(fila)[2] = intervalos[i][0];
+            p.get(fila)[3] = intervalos[i][1];
+        }));
+    }
+
+    public Varredura roteamento(int origem, int destino, double... probabilidades) {
+        String[] rotulos = new String[probabilidades.length];
+        for (int i = 0; i < probabilidades.length; i++) rotulos[i] = String.format("%.3f", probabilidades[i]);
+        return dimensao(new Dimensao("P" + (origem + 1) + "->" + (destino + 1), rotulos,
+                                     (p, m, i) -> m[origem][destino] = probabilidades[i]));
+    }
+
+    public Varredura dimensao(Dimensao d) {
+        dimensoes.add(d);
+        return this;
+    }
+
+    // Valores inteiros de..ate (inclusive).
+    static int[] faixa(int de, int ate) {
+        int[] v = new int[ate - de + 1];
+        for (int i = 0; i < v.length; i++) v[i] = de + i;
+        return v;
+    }
+
+    // Valores de..ate (inclusive, com tolerância de arredondamento) a cada 'passo'.
+    static double[] faixa(double de, double ate, double passo) {
+        int n = (int) Math.floor((ate - de) / passo + 1e-9) + 1;
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = de + i * passo;
+        return v;
+    }
+
+    // ---------------- INDEXACAO DA GRADE ----------------
+    // Índice do ponto em base mista: a primeira dimensão varia mais rápido.
+    int totalPontos() {
+        long total = 1;
+        for (Dimensao d : dimensoes) total *= d.rotulos.length;
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("grade grande demais: " + total + " pontos");
+        return (int) total;
+    }
+
+    private int passo(int dimensao) {
+        int p = 1;
+        for (int d = 0; d < dimensao; d++) p *= dimensoes.get(d).rotulos.length;
+        return p;
+    }
+
+    private int[] coordenadas(int indice) {
+        int[] c = new int[dimensoes.size()];
+        for (int d = 0; d < c.length; d++) {
+            int tamanho = dimensoes.get(d).rotulos.length;
+            c[d] = indice % tamanho;
+            indice /= tamanho;
+        }
+        return c;
+    }
+
+    // ---------------- EXECUCAO ----------------
+    // Grade completa; os pontos voltam na ordem dos índices.
+    public Ponto[] executar() {
+        return emParalelo(totalPontos(), (t, indice) -> t.avalia(indice));
+    }
+
+    // Busca adaptativa: para cada combinação das outras dimensões, o primeiro valor de
+    // 'dimensao' (na ordem dada) cujo ponto satisfaz 'criterio', por bissecção. Supõe que o
+    // critério é monótono ao longo da dimensão (ex.: perda cai quando os servidores aumentam),
+    // então avalia log2(n) valores em vez de n. Combinações sem valor que atenda ficam null.
+    public Ponto[] busca(int dimensao, Predicate<Ponto> criterio) {
+        int tamanho = dimensoes.get(dimensao).rotulos.length;
+        int passo = passo(dimensao);
+        int combinacoes = totalPontos() / tamanho;
+        return emParalelo(combinacoes, (t, combinacao) -> {
+            // índice da combinação com a coordenada 'dimensao' em zero
+            int base = (combinacao / passo) * passo * tamanho + combinacao % passo;
+            Ponto encontrado = null;
+            int lo = 0, hi = tamanho - 1;
+            while (lo <= hi) {
+                int meio = (lo + hi) >>> 1;
+                Ponto p = t.avalia(base + meio * passo);
+                if (criterio.test(p)) {
+                    encontrado = p;
+                    hi = meio - 1;
+                } else {
+                    lo = meio + 1;
+                }
+            }
+            return encontrado;
+        });
+    }
+
+    // Total de simulações executadas (pontos avaliados x réplicas) desde a criação.
+    int getSimulacoes() {
+        return simulacoes.get();
+    }
+
+    private interface Tarefa {
+        Ponto executa(Trabalhador t, int indice);
+    }
+
+    // Cada thread pega o próximo índice livre e reusa o seu Trabalhador até acabarem as tarefas.
+    private Ponto[] emParalelo(int tarefas, Tarefa tarefa) {
+        Ponto[] resultado = new Ponto[tarefas];
+        AtomicInteger proximo = new AtomicInteger();
+        int n = Math.max(1, Math.min(threads, tarefas));
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        try {
+            List<Future<?>> futuros = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                futuros.add(pool.submit(() -> {
+                    Trabalhador t = new Trabalhador();
+                    for (int indice; (indice = proximo.getAndIncrement()) < tarefas; ) {
+                        resultado[indice] = tarefa.executa(t, indice);
+                    }
+                }));
+            }
+            for (Future<?> f : futuros) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Varredura interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao avaliar um ponto da varredura", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return resultado;
+    }
+
+    // Estado de uma thread: cópia de trabalho dos parâmetros e o simulador reaproveitado.
+    private final class Trabalhador {
+        private final List<double[]> params = new ArrayList<>();
+        private final double[][] matriz = new double[matrizBase.length][];
+        private SimuladorRede sim;
+
+        Trabalhador() {
+            for (double[] p : paramsBase) params.add(p.clone());
+            for (int i = 0; i < matriz.length; i++) matriz[i] = matrizBase[i].clone();
+        }
+
+        Ponto avalia(int indice) {
+            for (int i = 0; i < params.size(); i++) {
+                System.arraycopy(paramsBase.get(i), 0, params.get(i), 0, params.get(i).length);
+            }
+            for (int i = 0; i < matriz.length; i++) {
+                System.arraycopy(matrizBase[i], 0, matriz[i], 0, matriz[i].length);
+            }
+            int[] c = coordenadas(indice);
+            for (int d = 0; d < c.length; d++) {
+                dimensoes.get(d).ajuste.aplica(params, matriz, c[d]);
+            }
+            Roteamento roteamento = new Roteamento(matriz);
+
+            Ponto p = new Ponto(indice, c, params.size());
+            for (int r = 0; r < replicacoes; r++) {
+                FonteAleatoria fonte = new FonteLcg48(sementeInicial + r);
+                if (sim == null) {
+                    sim = new SimuladorRede(chegadaMin, chegadaMax, 0, params, roteamento, primeiraChegada,
+                                            limiteAleatorios, fonte, new AgendaHeap());
+                } else {
+                    sim.reinicia(params, roteamento, primeiraChegada, fonte);
+                }
+                sim.executar();
+                simulacoes.incrementAndGet();
+                if (saida != null) grava(indice, sementeInicial + r);
+
+                double total = sim.getTempoEstatisticas() > 0 ? sim.getTempoEstatisticas() : 1.0;
+                List<SimuladorRede.Fila> filas = sim.getFilas();
+                for (int i = 0; i < filas.size(); i++) {
+                    SimuladorRede.Fila f = filas.get(i);
+                    long chegaram = (long) f.perdas + f.saidas + f.n;
+                    p.perda[i] += chegaram > 0 ? (double) f.perdas / chegaram : 0.0;
+                    p.utilizacao[i] += f.utilizacao(total);
+                    p.resposta[i] += f.tempoResposta(total);
+                }
+            }
+            for (int i = 0; i < params.size(); i++) {
+                p.perda[i] /= replicacoes;
+                p.utilizacao[i] /= replicacoes;
+                p.resposta[i] /= replicacoes;
+            }
+            return p;
+        }
+
+        private void grava(int indice, long semente) {
+            Resultado r = Resultado.de(sim, semente);
+            r.ponto = indice;
+            try {
+                synchronized (saida) {
+                    saida.escreve(r);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ---------------- TABELA ----------------
+    // Uma linha por ponto: valores das dimensões e, por fila, perda (%), utilização e tempo de resposta.
+    public void tabela(Ponto[] pontos, PrintStream out) {
+        int numFilas = paramsBase.size();
+        StringBuilder cab = new StringBuilder();
+        for (Dimensao d : dimensoes) cab.append(String.format("%-12s", d.nome));
+        for (int i = 1; i <= numFilas; i++) {
+            cab.append(String.format(" | Q%-2d %7s %6s %9s", i, "perda%", "util", "resposta"));
+        }
+        out.println(cab);
+
+        for (Ponto p : pontos) {
+            if (p == null) {
+                out.println("(nenhum valor atende ao critério)");
+                continue;
+            }
+            StringBuilder linha = new StringBuilder();
+            for (int d = 0; d < dimensoes.size(); d++) {
+                linha.append(String.format("%-12s", dimensoes.get(d).rotulos[p.coordenadas[d]]));
+            }
+            for (int i = 0; i < numFilas; i++) {
+                linha.append(String.format(" |     %7.2f %6.3f %9.2f", p.perda[i] * 100, p.utilizacao[i], p.resposta[i]));
+            }
+            out.println(linha);
+        }
+    }
+}
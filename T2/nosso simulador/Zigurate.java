@@ -0,0 +1,117 @@
+// Algoritmo do zigurate (Marsaglia & Tsang, 2000) para exponencial e normal padrão.
+// A densidade é coberta por 256 faixas horizontais de mesma área; um único número
+// aleatório escolhe a faixa (8 bits) e a posição dentro dela (o resto dos bits), e em
+// ~99% dos casos o valor sai com uma multiplicação e uma comparação, sem log nem exp.
+// Só a borda de cada faixa e a cauda precisam de mais sorteios.
+//
+// O número principal chega como double uniforme em [0,1) com 53 bits (FonteLcg48 e as
+// outras fontes); os bits são tirados dele. Sorteios extras (borda, cauda) vêm de
+// Sorteador.extra().
+final class Zigurate {
+
+    private Zigurate() {
+    }
+
+    private static final int FAIXAS = 256;
+
+    // ---------------- EXPONENCIAL ----------------
+    private static final double R_EXP = 7.69711747013104972;
+    private static final double V_EXP = 0.0039496598225815571993;
+    private static final double M_EXP = 0x1.0p45;   // 53 bits - 8 da faixa
+    private static final long[] K_EXP = new long[FAIXAS];
+    private static final double[] W_EXP = new double[FAIXAS];
+    private static final double[] F_EXP = new double[FAIXAS];
+
+    // ---------------- NORMAL ----------------
+    private static final double R_NOR = 3.6541528853610088;
+    private static final double V_NOR = 0.00492867323399;
+    private static final double M_NOR = 0x1.0p44;   // 53 bits - 8 da faixa - 1 do sinal
+    private static final long[] K_NOR = new long[FAIXAS];
+    private static final double[] W_NOR = new double[FAIXAS];
+    private static final double[] F_NOR = new double[FAIXAS];
+
+    static {
+        // Exponencial: f(x) = exp(-x)
+        double de = R_EXP, te = R_EXP;
+        double q = V_EXP / Math.exp(-de);
+        K_EXP[0] = (long) ((de / q) * M_EXP);
+        K_EXP[1] = 0;
+        W_EXP[0] = q / M_EXP;
+        W_EXP[FAIXAS - 1] = de / M_EXP;
+        F_EXP[0] = 1.0;
+        F_EXP[FAIXAS - 1] = Math.exp(-de);
+        for (int i = FAIXAS - 2; i >= 1; i--) {
+            de = -Math.log(V_EXP / de + Math.exp(-de));
+            K_EXP[i + 1] = (long) ((de / te) * M_EXP);
+            te = de;
+            F_EXP[i] = Math.exp(-de);
+            W_EXP[i] = de / M_EXP;
+        }
+
+        // Normal: f(x) = exp(-x^2/2), sem a constante de normalização
+        double dn = R_NOR, tn = R_NOR;
+        q = V_NOR / Math.exp(-0.5 * dn * dn);
+        K_NOR[0] = (long) ((dn / q) * M_NOR);
+        K_NOR[1] = 0;
+        W_NOR[0] = q / M_NOR;
+        W_NOR[FAIXAS - 1] = dn / M_NOR;
+        F_NOR[0] = 1.0;
+        F_NOR[FAIXAS - 1] = Math.exp(-0.5 * dn * dn);
+        for (int i = FAIXAS - 2; i >= 1; i--) {
+            dn = Math.sqrt(-2.0 * Math.log(V_NOR / dn + Math.exp(-0.5 * dn * dn)));
+            K_NOR[i + 1] = (long) ((dn / tn) * M_NOR);
+            tn = dn;
+            F_NOR[i] = Math.exp(-0.5 * dn * dn);
+            W_NOR[i] = dn / M_NOR;
+        }
+    }
+
+    private static long bits(double u) {
+        return (long) (u * 0x1.0p53);
+    }
+
+    // Exponencial de média 1.
+    static double exponencial(double u, Distribuicao.Sorteador s) {
+        long b = bits(u);
+        int i = (int) (b & (FAIXAS - 1));
+        long j = b >>> 8;
+        if (j < K_EXP[i]) return j * W_EXP[i];
+        for (;;) {
+            if (i == 0) return R_EXP - Math.log(1.0 - s.extra());
+            double x = j * W_EXP[i];
+            if (F_EXP[i] + s.extra() * (F_EXP[i - 1] - F_EXP[i]) < Math.exp(-x)) return x;
+            b = bits(s.extra());
+            i = (int) (b & (FAIXAS - 1));
+            j = b >>> 8;
+            if (j < K_EXP[i]) return j * W_EXP[i];
+        }
+    }
+
+    // Normal padrão.
+    static double normal(double u, Distribuicao.Sorteador s) {
+        long b = bits(u);
+        int i = (int) (b & (FAIXAS - 1));
+        boolean negativo = (b & FAIXAS) != 0;
+        long j = b >>> 9;
+        for (;;) {
+            double x = j * W_NOR[i];
+            if (j < K_NOR[i]) return negativo ? -x : x;
+            if (i == 0) {
+                // cauda além de R_NOR (método de Marsaglia)
+                double xt, y;
+                do {
+                    xt = -Math.log(1.0 - s.extra()) / R_NOR;
+                    y = -Math.log(1.0 - s.extra());
+                } while (y + y < xt * xt);
+                return negativo ? -(R_NOR + xt) : R_NOR + xt;
+            }
+            if (F_NOR[i] + s.extra() * (F_NOR[i - 1] - F_NOR[i]) < Math.exp(-0.5 * x * x)) {
+                return negativo ? -x : x;
+            }
+            b = bits(s.extra());
+            i = (int) (b & (FAIXAS - 1));
+            negativo = (b & FAIXAS) != 0;
+            j = b >>> 9;
+        }
+    }
+}
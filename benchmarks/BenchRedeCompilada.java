@@ -0,0 +1,53 @@
+import java.util.*;
+
+// Benchmark do motor gerado pelo CompiladorModelo (T2/nosso simulador/) lado a lado com o
+// SimuladorRede genérico, nas mesmas redes do BenchSimuladorRede. A compilação do modelo
+// acontece no aquecimento; a medição só instancia e executa o motor. Acima de
+// CompiladorModelo.FILAS_COMPILADAS filas novoMotor devolve o SimuladorRede; aqui o motor
+// gerado é medido assim mesmo, para mostrar onde fica o limite.
+public class BenchRedeCompilada {
+
+    public static void main(String[] args) {
+        long limite = Long.getLong("limite", 100000);
+        String[] tamanhos = System.getProperty("tamanhos", "3,30,300").split(",");
+
+        Benchmark.cabecalho("SimuladorRede x CompiladorModelo");
+
+        List<double[]> paramsApp = Arrays.asList(
+            new double[]{0, 3, 10.0, 20.0},
+            new double[]{20, 2, 30.0, 60.0},
+            new double[]{0, 2, 60.0, 240.0}
+        );
+        double[][] matrizApp = {
+            {0.0, 0.15, 0.0},
+            {0.0, 0.0, 0.35},
+            {0.0, 1.0, 0.0}
+        };
+        compara("App 3 filas", new CompiladorModelo(5.0, 10.0, 0, paramsApp, new Roteamento(matrizApp), 5.0), limite);
+
+        for (String t : tamanhos) {
+            int k = Integer.parseInt(t.trim());
+            List<double[]> params = new ArrayList<>();
+            double[][] matriz = new double[k][k];
+            for (int i = 0; i < k; i++) {
+                params.add(new double[]{i % 2 == 0 ? 0 : 10, 2, 1.0, 3.0});
+                if (i + 1 < k) matriz[i][i + 1] = 0.9;
+                matriz[i][i] = 0.05;
+            }
+            compara("série K=" + k, new CompiladorModelo(1.0, 3.0, 0, params, new Roteamento(matriz), 1.0), limite);
+        }
+    }
+
+    private static void compara(String nome, CompiladorModelo modelo, long limite) {
+        Benchmark.mede(nome + " genérico (" + limite + " aleatórios)", "evento", () -> {
+            SimuladorRede sim = modelo.novoSimulador(new FonteLcg48(12345), limite);
+            sim.executar();
+            return sim.getEventos();
+        });
+        Benchmark.mede(nome + " compilado (" + limite + " aleatórios)", "evento", () -> {
+            MotorRede motor = modelo.motorGerado(new FonteLcg48(12345), limite);
+            motor.executar();
+            return motor.getEventos();
+        });
+    }
+}
@@ -0,0 +1,21 @@
+// Benchmark do M4/SimulacaoFila3 e do M4/SimulacaoLindley (mesma fila sem agenda):
+// fila única G/G/1/5 do M4/model.yml. O SimulacaoLindley fica longe da ordem de grandeza
+// que se esperava dele (ver o cabeçalho da classe).
+public class BenchSimulacaoFila3 {
+
+    public static void main(String[] args) {
+        Benchmark.cabecalho("M4/SimulacaoFila3");
+        for (long n : new long[]{100000, 10000000}) {
+            Benchmark.mede("G/G/1/5 (" + n + " eventos)", "evento", () -> {
+                SimulacaoFila3 sim = new SimulacaoFila3(5, 1, 2.0, 5.0, 3.0, 5.0, 2.0, n);
+                sim.simular();
+                return n;
+            });
+            Benchmark.mede("G/G/1/5 Lindley (" + n + " eventos)", "evento", () -> {
+                SimulacaoLindley sim = new SimulacaoLindley(5, 1, 2.0, 5.0, 3.0, 5.0, 2.0, n);
+                sim.simular();
+                return n;
+            });
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import java.lang.reflect.Method;
+import java.util.*;
+
+// Benchmark do SimuladorRede (compila tanto com T1/ quanto com T2/nosso simulador/).
+// Mede a rede de 3 filas do App e redes em série com realimentação de K filas
+// (-Dtamanhos=3,30,300) para ver como o custo por evento cresce com a rede.
+// Se o simulador expõe getEventos(), a unidade é evento; senão, número aleatório.
+public class BenchSimuladorRede {
+
+    private static final Method getEventos = metodo("getEventos");
+
+    public static void main(String[] args) {
+        long limite = Long.getLong("limite", 100000);
+        String[] tamanhos = System.getProperty("tamanhos", "3,30,300").split(",");
+        String unidade = getEventos != null ? "evento" : "aleat";
+
+        Benchmark.cabecalho("SimuladorRede");
+
+        List<double[]> paramsApp = Arrays.asList(
+            new double[]{0, 3, 10.0, 20.0},
+            new double[]{20, 2, 30.0, 60.0},
+            new double[]{0, 2, 60.0, 240.0}
+        );
+        double[][] matrizApp = {
+            {0.0, 0.15, 0.0},
+            {0.0, 0.0, 0.35},
+            {0.0, 1.0, 0.0}
+        };
+        Benchmark.mede("App 3 filas (" + limite + " aleatórios)", unidade,
+                       () -> executa(new SimuladorRede(5.0, 10.0, paramsApp, matrizApp, 5.0, limite), limite));
+
+        for (String t : tamanhos) {
+            int k = Integer.parseInt(t.trim());
+            List<double[]> params = new ArrayList<>();
+            double[][] matriz = new double[k][k];
+            for (int i = 0; i < k; i++) {
+                params.add(new double[]{i % 2 == 0 ? 0 : 10, 2, 1.0, 3.0});
+                if (i + 1 < k) matriz[i][i + 1] = 0.9;
+                matriz[i][i] = 0.05;
+            }
+            Benchmark.mede("série K=" + k + " (" + limite + " aleatórios)", unidade,
+                           () -> executa(new SimuladorRede(1.0, 3.0, params, matriz, 1.0, limite), limite));
+        }
+    }
+
+    private static long executa(SimuladorRede sim, long limite) {
+        sim.simular();
+        if (getEventos == null) return limite;
+        try {
+            return (Long) getEventos.invoke(sim);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Method metodo(String nome) {
+        try {
+            Method m = SimuladorRede.class.getDeclaredMethod(nome);
+            m.setAccessible(true);
+            return m;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
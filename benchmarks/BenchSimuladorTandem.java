@@ -0,0 +1,19 @@
+// Benchmark do M6/SimuladorTandem: tandem G/G/2/3 -> G/G/1/5 do M6/model.yml.
+public class BenchSimuladorTandem {
+
+    public static void main(String[] args) {
+        Benchmark.cabecalho("M6/SimuladorTandem");
+        for (long n : new long[]{100000, 1000000}) {
+            Benchmark.mede("tandem (" + n + " aleatórios)", "aleat", () -> {
+                SimuladorTandem sim = new SimuladorTandem(
+                    1.0, 4.0,
+                    3.0, 4.0, 2, 3,
+                    2.0, 3.0, 1, 5,
+                    1.5, n
+                );
+                sim.simular();
+                return sim.usados;
+            });
+        }
+    }
+}
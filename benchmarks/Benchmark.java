@@ -0,0 +1,67 @@
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+// Medidor mínimo para os simuladores (sem dependências, roda com o JDK puro).
+// Cada medição executa a tarefa algumas vezes para aquecer o JIT e depois mede
+// tempo de parede e bytes alocados pela thread em cada execução.
+// A saída padrão dos simuladores é descartada durante a medição.
+public class Benchmark {
+
+    static int aquecimento = Integer.getInteger("aquecimento", 10);
+    static int iteracoes = Integer.getInteger("iteracoes", 20);
+
+    private static final PrintStream saida = System.out;
+    private static final PrintStream nula = new PrintStream(OutputStream.nullOutputStream());
+    private static final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // 'tarefa' executa uma simulação completa e devolve quantas unidades (eventos ou
+    // números aleatórios) ela processou.
+    static void mede(String nome, String unidade, LongSupplier tarefa) {
+        long id = Thread.currentThread().getId();
+        long[] ns = new long[iteracoes];
+        long[] bytes = new long[iteracoes];
+        long unidades = 0;
+
+        System.setOut(nula);
+        try {
+            for (int i = 0; i < aquecimento; i++) tarefa.getAsLong();
+            for (int i = 0; i < iteracoes; i++) {
+                long b0 = threads.getThreadAllocatedBytes(id);
+                long t0 = System.nanoTime();
+                unidades = tarefa.getAsLong();
+                ns[i] = System.nanoTime() - t0;
+                bytes[i] = threads.getThreadAllocatedBytes(id) - b0;
+            }
+        } finally {
+            System.setOut(saida);
+        }
+
+        double mediaNs = media(ns);
+        double desvioNs = desvio(ns, mediaNs);
+        double mediaBytes = media(bytes);
+        saida.printf(Locale.ROOT, "%-40s %10.3f ms/op ± %7.3f  %12.0f %s/s  %10.1f B/%s  %8.1f MB/s%n",
+                     nome, mediaNs / 1e6, desvioNs / 1e6,
+                     unidades / (mediaNs / 1e9), unidade,
+                     mediaBytes / Math.max(1, unidades), unidade,
+                     mediaBytes / (mediaNs / 1e9) / 1e6);
+    }
+
+    static void cabecalho(String motor) {
+        saida.println("== " + motor + " (aquecimento=" + aquecimento + ", iteracoes=" + iteracoes + ") ==");
+    }
+
+    private static double media(long[] v) {
+        double s = 0;
+        for (long x : v) s += x;
+        return s / v.length;
+    }
+
+    private static double desvio(long[] v, double media) {
+        double s = 0;
+        for (long x : v) s += (x - media) * (x - media);
+        return v.length > 1 ? Math.sqrt(s / (v.length - 1)) : 0.0;
+    }
+}
@@ -0,0 +1,30 @@
+#!/bin/sh
+# Compila cada motor junto com o medidor (cada diretório é um programa separado no
+# pacote padrão, com nomes de classe repetidos entre T1 e T2) e executa os benchmarks.
+#
+#   ./benchmarks/executa.sh                      # todos os motores
+#   ./benchmarks/executa.sh rede-t2              # só um motor
+#   JAVA_OPTS="-Dtamanhos=3,300 -Dlimite=1000000" ./benchmarks/executa.sh rede-t2
+set -e
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+BENCH="$RAIZ/benchmarks"
+SAIDA="${SAIDA:-$RAIZ/benchmarks/out}"
+MOTORES="${*:-fila3 tandem rede-t1 rede-t2 rede-compilada}"
+
+executa() {
+    nome=$1; classe=$2; shift 2
+    rm -rf "$SAIDA/$nome"; mkdir -p "$SAIDA/$nome"
+    javac -encoding UTF-8 -Xlint:all -Werror -d "$SAIDA/$nome" "$BENCH/Benchmark.java" "$BENCH/$classe.java" "$@"
+    java -Dfile.encoding=UTF-8 $JAVA_OPTS -cp "$SAIDA/$nome" "$classe"
+}
+
+for m in $MOTORES; do
+    case $m in
+        fila3)   executa fila3 BenchSimulacaoFila3 "$RAIZ/M4/SimulacaoFila3.java" "$RAIZ/M4/SimulacaoLindley.java" ;;
+        tandem)  executa tandem BenchSimuladorTandem "$RAIZ/M6/SimuladorTandem.java" ;;
+        rede-t1) executa rede-t1 BenchSimuladorRede "$RAIZ/T1/SimuladorRede.java" ;;
+        rede-t2) executa rede-t2 BenchSimuladorRede "$RAIZ/T2/nosso simulador/"*.java ;;
+        rede-compilada) executa rede-compilada BenchRedeCompilada "$RAIZ/T2/nosso simulador/"*.java ;;
+        *) echo "motor desconhecido: $m (use fila3, tandem, rede-t1, rede-t2, rede-compilada)"; exit 1 ;;
+    esac
+done
@@ -0,0 +1,99 @@
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.LongFunction;
+
+// salvaEstado/restauraEstado: executar até N, gravar, restaurar num simulador novo, estender
+// o orçamento em M e continuar tem que dar exatamente a execução única até N+M (todas as
+// estatísticas do Resultado, bit a bit), também com muitos instantes empatados na agenda.
+public class ConfereCheckpoint {
+
+    static final List<double[]> PARAMS = List.of(
+        new double[]{0, 3, 10.0, 20.0},
+        new double[]{20, 2, 30.0, 60.0},
+        new double[]{0, 2, 60.0, 240.0});
+    static final double[][] MATRIZ = {{0, 0.15, 0}, {0, 0, 0.35}, {0, 1.0, 0}};
+
+    public static void main(String[] args) throws Exception {
+        AgendaHeap heap = new AgendaHeap();
+        FonteLcg48 f = new FonteLcg48(11);
+        for (int i = 0; i < 5000; i++) heap.agendar((int) (f.proximo() * 50), i);
+        AgendaHeap copia = new AgendaHeap();
+        for (int i = 0; i < heap.tamanho(); i++) copia.agendar(heap.tempo(i), heap.evento(i));
+        boolean mesmaOrdem = true;
+        while (!heap.vazia()) {
+            mesmaOrdem &= heap.proximoTempo() == copia.proximoTempo() && heap.proximoEvento() == copia.proximoEvento();
+            heap.remove();
+            copia.remove();
+        }
+        Teste.confere("agenda reconstruída desempata igual", mesmaOrdem && copia.vazia());
+
+        long n = 60_000, m = 45_000;
+        confere("fluxo único", n, m, limite -> simulador(new FonteLcg48(1), limite));
+        confere("fluxos dedicados", n, m, limite -> {
+            SimuladorRede s = simulador(new FonteLcg48(2), limite);
+            s.usaFluxosDedicados();
+            return s;
+        });
+        confere("antitética", n, m, limite -> {
+            SimuladorRede s = simulador(new FonteAntitetica(new FonteLcg48(3)), limite);
+            s.usaFluxosDedicados();
+            return s;
+        });
+        // chegadas e serviços determinísticos: saídas e chegadas no mesmo instante o tempo todo
+        confere("instantes empatados", n, m, limite -> {
+            SimuladorRede s = simulador(new FonteLcg48(4), limite);
+            s.defineChegadas(Distribuicao.deterministica(8.0));
+            s.defineServico(0, Distribuicao.deterministica(16.0));
+            s.defineServico(1, Distribuicao.deterministica(40.0));
+            return s;
+        });
+        confere("duas classes", n, m, limite -> {
+            SimuladorRede s = simulador(new FonteLcg48(5), limite);
+            s.adicionaChegadas(1, 1, Distribuicao.exponencial(40.0), 2.0);
+            s.defineServico(1, 1, Distribuicao.uniforme(10.0, 20.0));
+            s.defineRoteamento(1, new Roteamento(new double[][]{{0, 0, 0}, {0, 0, 0.5}, {0, 0, 0}}));
+            return s;
+        });
+
+        Teste.fim("ConfereCheckpoint");
+    }
+
+    private static SimuladorRede simulador(FonteAleatoria fonte, long limite) {
+        return new SimuladorRede(5.0, 10.0, PARAMS, MATRIZ, 5.0, limite, fonte);
+    }
+
+    // 'fabrica' monta o simulador com o orçamento dado.
+    private static void confere(String nome, long n, long m, LongFunction<SimuladorRede> fabrica) throws Exception {
+        SimuladorRede unica = fabrica.apply(n + m);
+        unica.executar();
+
+        SimuladorRede primeira = fabrica.apply(n);
+        primeira.executar();
+        Path arquivo = Teste.temporario(".ckp");
+        primeira.salvaEstado(arquivo);
+
+        SimuladorRede continuada = fabrica.apply(n);
+        continuada.restauraEstado(arquivo);
+        continuada.estendeOrcamento(m);
+        continuada.executar();
+
+        Teste.confere(nome + ": a primeira parte parou antes", primeira.getEventos() < unica.getEventos());
+        compara(nome, Resultado.de(unica, 0), Resultado.de(continuada, 0));
+    }
+
+    private static void compara(String nome, Resultado a, Resultado b) {
+        Teste.igual(nome + ": tempo", b.tempo, a.tempo);
+        Teste.igual(nome + ": tempo das estatísticas", b.tempoEstatisticas, a.tempoEstatisticas);
+        Teste.igual(nome + ": aleatórios", b.usados, a.usados);
+        Teste.igual(nome + ": eventos", b.eventos, a.eventos);
+        Teste.igual(nome + ": esgotado", b.esgotado, a.esgotado);
+        Teste.confere(nome + ": perdas", Arrays.equals(b.perdas, a.perdas));
+        Teste.confere(nome + ": saídas", Arrays.equals(b.saidas, a.saidas));
+        Teste.confere(nome + ": população", Arrays.equals(b.populacao, a.populacao));
+        Teste.confere(nome + ": vazão", Arrays.equals(b.vazao, a.vazao));
+        Teste.confere(nome + ": utilização", Arrays.equals(b.utilizacao, a.utilizacao));
+        Teste.confere(nome + ": resposta", Arrays.equals(b.resposta, a.resposta));
+        Teste.confere(nome + ": distribuição de estados", Arrays.deepEquals(b.proporcoes, a.proporcoes));
+        Teste.confere(nome + ": controle do serviço", Arrays.equals(b.controleServico, a.controleServico));
+    }
+}
@@ -0,0 +1,107 @@
+import java.nio.*;
+import java.nio.file.*;
+import java.util.*;
+
+// Os três formatos do EscritorResultados lidos de volta: CSV linha a linha, o binário
+// colunar decodificado (com mais de um bloco) e o JSON lines com os campos esperados.
+public class ConfereEscritorResultados {
+
+    public static void main(String[] args) throws Exception {
+        Resultado a = resultado(7, 1.5);
+        Resultado b = resultado(8, 1.0 / 3.0);
+        b.ponto = 2;
+        b.resposta[1] = Double.NaN;
+
+        Path csv = Teste.temporario(".csv");
+        try (EscritorResultados e = EscritorResultados.abre(csv)) {
+            e.escreve(a);
+            e.escreve(b);
+        }
+        List<String> linhas = Files.readAllLines(csv);
+        Teste.igual("cabeçalho CSV", linhas.get(0), String.join(",", EscritorResultados.COLUNAS));
+        Teste.igual("linhas CSV", linhas.size(), 5);
+        Teste.igual("CSV execução a, fila 1", linhas.get(1), "7,-1,1,5,2,1000,800,3,120,1500.5,1.5,0.25,0.75,6");
+        Teste.igual("CSV execução b, fila 2", linhas.get(4),
+                    "8,2,2,0,1,1000,800,4,121,1500.5,0.3333333333333333,0.25,0.75,NaN");
+
+        Path bin = Teste.temporario(".bin");
+        int execucoes = EscritorResultados.Colunar.LINHAS_BLOCO;   // 2 filas cada: dois blocos
+        try (EscritorResultados e = EscritorResultados.abre(bin)) {
+            for (int i = 0; i < execucoes; i++) e.escreve(resultado(i, i * 0.5));
+        }
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(bin)).order(ByteOrder.LITTLE_ENDIAN);
+        Teste.igual("magico", buf.getInt(), EscritorResultados.Colunar.MAGICO);
+        int colunas = buf.getInt();
+        Teste.igual("colunas", colunas, EscritorResultados.COLUNAS.length);
+        boolean cabecalho = true;
+        for (int c = 0; c < colunas; c++) {
+            char tipo = (char) buf.get();
+            byte[] nome = new byte[buf.get()];
+            buf.get(nome);
+            cabecalho &= tipo == (c < EscritorResultados.COLUNAS_INTEIRAS ? 'l' : 'd')
+                      && new String(nome, "US-ASCII").equals(EscritorResultados.COLUNAS[c]);
+        }
+        Teste.confere("cabeçalho binário", cabecalho);
+        int total = 0, blocos = 0;
+        boolean valores = true;
+        while (buf.hasRemaining()) {
+            int n = buf.getInt();
+            long[][] l = new long[EscritorResultados.COLUNAS_INTEIRAS][n];
+            double[][] d = new double[colunas - EscritorResultados.COLUNAS_INTEIRAS][n];
+            for (long[] col : l) {
+                buf.asLongBuffer().get(col);
+                buf.position(buf.position() + 8 * n);
+            }
+            for (double[] col : d) {
+                buf.asDoubleBuffer().get(col);
+                buf.position(buf.position() + 8 * n);
+            }
+            for (int j = 0; j < n; j++) {
+                int linha = total + j;
+                long semente = linha / 2;
+                valores &= l[0][j] == semente && l[2][j] == linha % 2 + 1 && l[7][j] == 3 + linha % 2
+                        && d[1][j] == semente * 0.5 && d[0][j] == 1500.5;
+            }
+            total += n;
+            blocos++;
+        }
+        Teste.igual("linhas binário", total, 2 * execucoes);
+        Teste.igual("blocos binário", blocos, 2);
+        Teste.confere("valores binário", valores);
+
+        Path json = Teste.temporario(".jsonl");
+        try (EscritorResultados e = EscritorResultados.abre(json)) {
+            e.escreve(b);
+        }
+        String j = Files.readString(json);
+        Teste.confere("JSON uma linha", j.endsWith("}\n") && j.indexOf('\n') == j.length() - 1);
+        for (String campo : new String[]{"\"semente\":8", "\"ponto\":2", "\"esgotado\":true", "\"fila\":2",
+                                         "\"resposta\":null", "\"proporcoes\":[0.25,0.75]", "\"populacao\":0.3333333333333333"}) {
+            Teste.confere("JSON " + campo, j.contains(campo));
+        }
+
+        Teste.fim("ConfereEscritorResultados");
+    }
+
+    private static Resultado resultado(long semente, double populacao) {
+        Resultado r = new Resultado(2);
+        r.semente = semente;
+        r.tempo = 1500.5;
+        r.tempoEstatisticas = 1500.5;
+        r.usados = 1000;
+        r.eventos = 800;
+        r.esgotado = true;
+        for (int i = 0; i < 2; i++) {
+            r.capacidade[i] = i == 0 ? 5 : 0;
+            r.servidores[i] = 2 - i;
+            r.populacao[i] = populacao;
+            r.vazao[i] = 0.25;
+            r.utilizacao[i] = 0.75;
+            r.resposta[i] = 6;
+            r.perdas[i] = 3 + i;
+            r.saidas[i] = 120 + i;
+            r.proporcoes[i] = new double[]{0.25, 0.75};
+        }
+        return r;
+    }
+}
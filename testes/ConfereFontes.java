@@ -0,0 +1,143 @@
+import java.nio.file.*;
+import java.util.*;
+
+// Fontes de aleatórios: FonteLcg48 igual ao java.util.Random, fluxos divididos (e divididos
+// de novo) sem sobreposição, limites da divisão e o estado completo no checkpoint.
+public class ConfereFontes {
+
+    public static void main(String[] args) throws Exception {
+        FonteLcg48 lcg = new FonteLcg48(42);
+        Random ref = new Random(42);
+        boolean iguais = true;
+        for (int i = 0; i < 1000; i++) iguais &= lcg.proximo() == ref.nextDouble();
+        double[] bloco = new double[1000];
+        lcg.preenche(bloco, bloco.length);
+        for (double u : bloco) iguais &= u == ref.nextDouble();
+        Teste.confere("FonteLcg48 igual a java.util.Random", iguais);
+
+        // Raiz, 4 filhos e 4 netos de cada, como réplicas e fluxos dedicados. Pais sorteiam
+        // antes de dividir, para o início dos filhos não depender disso.
+        List<FonteLcg48> fluxos = new ArrayList<>();
+        FonteLcg48 raiz = new FonteLcg48(1);
+        fluxos.add(raiz);
+        for (int r = 0; r < 4; r++) {
+            raiz.proximo();
+            FonteLcg48 filho = (FonteLcg48) raiz.divide();
+            fluxos.add(filho);
+            for (int q = 0; q < 4; q++) {
+                filho.proximo();
+                fluxos.add((FonteLcg48) filho.divide());
+            }
+        }
+        Teste.confere("fluxos aninhados sem sobreposição", disjuntos(fluxos, 20_000));
+
+        FonteLcg48 outra = new FonteLcg48(1);
+        FonteLcg48 primeiro = (FonteLcg48) outra.divide();
+        Teste.confere("filho não depende do que o pai sorteou",
+                      primeiro.proximo() == ((FonteLcg48) new FonteLcg48(1).divide()).proximo());
+
+        FonteAleatoria neto = new FonteLcg48(1).divide().divide();
+        Teste.lanca("neto não divide", IllegalStateException.class, "não se divide", neto::divide);
+        FonteLcg48 cheia = new FonteLcg48(2);
+        for (int i = 1; i < FonteLcg48.RAMOS; i++) cheia.divide();
+        Teste.lanca("divisões demais", IllegalStateException.class, "no máximo", cheia::divide);
+        Teste.lanca("antitética segue a base", IllegalStateException.class, "não se divide",
+                    () -> new FonteAntitetica(neto).divide());
+
+        // as fontes de período longo dividem em qualquer nível
+        FonteAleatoria s = new FonteSplittable(1), l = new FonteL64X128(1);
+        for (int i = 0; i < 5; i++) {
+            s = s.divide();
+            l = l.divide();
+        }
+        Teste.confere("FonteSplittable e FonteL64X128 aninhadas", s.proximo() >= 0 && l.proximo() >= 0);
+
+        // checkpoint guarda o intervalo e as divisões já feitas, não só o estado
+        FonteLcg48 f = (FonteLcg48) new FonteLcg48(9).divide();
+        f.divide();
+        f.proximo();
+        Path arquivo = Teste.temporario(".ckp");
+        try (Checkpoint.Saida saida = new Checkpoint.Saida(arquivo)) {
+            saida.fonte(f);
+        }
+        FonteLcg48 g;
+        try (Checkpoint.Entrada entrada = new Checkpoint.Entrada(arquivo)) {
+            g = (FonteLcg48) entrada.fonte();
+        }
+        Teste.confere("checkpoint: próximo número", f.proximo() == g.proximo());
+        Teste.confere("checkpoint: próxima divisão", f.divide().proximo() == g.divide().proximo());
+
+        // Réplicas divididas de uma raiz (Replicador) com fluxos dedicados por fila e finalidade:
+        // nenhum fluxo de uma réplica começa dentro de outro, de nenhuma réplica.
+        List<Long> inicios = Collections.synchronizedList(new ArrayList<>());
+        List<double[]> params = List.of(new double[]{0, 1, 1.0, 2.0}, new double[]{5, 2, 2.0, 4.0});
+        double[][] matriz = {{0, 0.5}, {0.3, 0}};
+        new Replicador(fonte -> {
+            SimuladorRede sim = new SimuladorRede(1.0, 3.0, params, matriz, 1.0, 20_000, fonte);
+            sim.usaFluxosDedicados();
+            return sim;
+        }, new Registrada(new FonteLcg48(5), inicios), 4).executar();
+        Teste.igual("fluxos das réplicas", inicios.size(), 4 * (1 + 2 * 2 + 1));
+        Teste.confere("réplicas e fluxos dedicados sem sobreposição", disjuntos(inicios, 20_000));
+
+        // restaurar um checkpoint com fluxos dedicados não divide a fonte restaurada de novo:
+        // gravar logo depois dá o mesmo arquivo
+        SimuladorRede sim = new SimuladorRede(1.0, 3.0, params, matriz, 1.0, 20_000, new FonteLcg48(3).divide());
+        sim.usaFluxosDedicados();
+        sim.executar();
+        Path antes = Teste.temporario(".ckp"), depois = Teste.temporario(".ckp");
+        sim.salvaEstado(antes);
+        SimuladorRede restaurado = new SimuladorRede(1.0, 3.0, params, matriz, 1.0, 20_000, new FonteLcg48(3));
+        restaurado.restauraEstado(antes);
+        restaurado.salvaEstado(depois);
+        Teste.confere("checkpoint restaurado e gravado de novo", Arrays.equals(Files.readAllBytes(antes),
+                                                                               Files.readAllBytes(depois)));
+
+        Teste.fim("ConfereFontes");
+    }
+
+    // Nenhum estado dos primeiros 'passos' passos de um fluxo aparece em outro (passo a passo,
+    // para pegar também sobreposição com deslocamento ímpar).
+    static boolean disjuntos(List<FonteLcg48> fluxos, int passos) {
+        List<Long> inicios = new ArrayList<>();
+        for (FonteLcg48 f : fluxos) inicios.add(f.estado());
+        return disjuntos(inicios, passos);
+    }
+
+    static boolean disjuntos(Collection<Long> inicios, int passos) {
+        long[] estados = new long[inicios.size() * passos];
+        int n = 0;
+        for (long x : inicios) {
+            for (int i = 0; i < passos; i++) {
+                estados[n++] = x;
+                x = (x * FonteLcg48.A + FonteLcg48.C) & FonteLcg48.MASCARA;
+            }
+        }
+        Arrays.sort(estados);
+        for (int i = 1; i < n; i++) {
+            if (estados[i] == estados[i - 1]) return false;
+        }
+        return true;
+    }
+
+    // Registra o estado inicial de cada fluxo dividido.
+    static final class Registrada implements FonteAleatoria {
+        private final FonteLcg48 base;
+        private final List<Long> inicios;
+
+        Registrada(FonteLcg48 base, List<Long> inicios) {
+            this.base = base;
+            this.inicios = inicios;
+        }
+
+        public double proximo() {
+            return base.proximo();
+        }
+
+        public FonteAleatoria divide() {
+            FonteLcg48 filho = (FonteLcg48) base.divide();
+            inicios.add(filho.estado());
+            return new Registrada(filho, inicios);
+        }
+    }
+}
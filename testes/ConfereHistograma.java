@@ -0,0 +1,52 @@
+import java.util.*;
+
+// HistogramaEstados contra um mapa comum: estados baixos (parte densa, crescendo), estados
+// na cauda (tabela esparsa, com várias reorganizações) e zera.
+public class ConfereHistograma {
+
+    public static void main(String[] args) throws Exception {
+        HistogramaEstados h = new HistogramaEstados(Integer.MAX_VALUE);
+        Map<Integer, Double> esperado = new HashMap<>();
+        FonteLcg48 fonte = new FonteLcg48(3);
+        for (int k = 0; k < 200_000; k++) {
+            double u = fonte.proximo();
+            // metade perto de zero, um quarto na faixa densa que cresce, um quarto na cauda
+            int estado = u < 0.5 ? (int) (u * 40)
+                       : u < 0.75 ? (int) (u * 80_000)
+                       : HistogramaEstados.LIMITE_DENSO + (int) (fonte.proximo() * 5_000) * 97;
+            double delta = fonte.proximo();
+            h.adiciona(estado, delta);
+            esperado.merge(estado, delta, Double::sum);
+        }
+
+        int maior = 0, esparsos = 0;
+        double soma = 0.0;
+        boolean iguais = true;
+        for (Map.Entry<Integer, Double> e : esperado.entrySet()) {
+            int s = e.getKey();
+            maior = Math.max(maior, s);
+            if (s >= HistogramaEstados.LIMITE_DENSO) esparsos++;
+            soma += s * e.getValue();
+            iguais &= Math.abs(h.get(s) - e.getValue()) <= 1e-9 * Math.max(1.0, e.getValue());
+        }
+        Teste.confere("tempo de cada estado visitado", iguais);
+        Teste.igual("estado não visitado (denso)", h.get(39_999 + 1), esperado.getOrDefault(40_000, 0.0));
+        Teste.igual("estado não visitado (esparso)", h.get(HistogramaEstados.LIMITE_DENSO + 1), 0.0);
+        Teste.igual("maior estado", h.maiorEstado(), maior);
+        Teste.igual("estados esparsos", h.estadosEsparsos(), esparsos);
+        Teste.perto("soma ponderada", h.somaPonderada(), soma, 1e-9 * soma);
+
+        h.zera();
+        Teste.igual("zera: estado baixo", h.get(1), 0.0);
+        Teste.igual("zera: cauda", h.get(HistogramaEstados.LIMITE_DENSO + 97), 0.0);
+        Teste.igual("zera: esparsos", h.estadosEsparsos(), 0);
+        Teste.igual("zera: soma", h.somaPonderada(), 0.0);
+
+        // fila finita: a parte densa nunca passa da capacidade
+        HistogramaEstados finita = new HistogramaEstados(5);
+        for (int s = 0; s <= 5; s++) finita.adiciona(s, s + 1.0);
+        Teste.perto("fila finita", finita.somaPonderada(), 0 * 1 + 1 * 2 + 2 * 3 + 3 * 4 + 4 * 5 + 5 * 6, 0.0);
+
+        Teste.fim("ConfereHistograma");
+    }
+}
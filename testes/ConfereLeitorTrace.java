@@ -0,0 +1,110 @@
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// LeitorTrace: o CSV (cabeçalho, comentários, linhas vazias, CRLF, campos vazios) e o
+// binário convertido dele têm que dar os mesmos registros; erros dizem a linha.
+public class ConfereLeitorTrace {
+
+    public static void main(String[] args) throws Exception {
+        String csv = "chegada,servico,fila\r\n"
+                   + "# comentário\n"
+                   + "\n"
+                   + "0.5,1.25,1\n"
+                   + "1.0,,2   # sem serviço\n"
+                   + "  2.75 ; 0.5 ; 3\r\n"
+                   + "1e1,3,1\n"
+                   + "+12.5,0.125,2";
+        Path texto = escreve(".csv", csv);
+        List<double[]> lidos = le(texto);
+        double nan = Double.NaN;
+        double[][] esperados = {
+            {0.5, 1.25, 0}, {1.0, nan, 1}, {2.75, 0.5, 2}, {10.0, 3.0, 0}, {12.5, 0.125, 1}
+        };
+        Teste.igual("registros do CSV", lidos.size(), esperados.length);
+        for (int i = 0; i < Math.min(lidos.size(), esperados.length); i++) {
+            Teste.igual("registro " + i, Arrays.toString(lidos.get(i)), Arrays.toString(esperados[i]));
+        }
+
+        Path binario = Teste.temporario(".bin");
+        Teste.igual("registros convertidos", LeitorTrace.converte(texto, binario), (long) esperados.length);
+        List<double[]> doBinario = le(binario);
+        boolean iguais = doBinario.size() == lidos.size();
+        for (int i = 0; iguais && i < lidos.size(); i++) iguais = Arrays.equals(doBinario.get(i), lidos.get(i));
+        Teste.confere("binário igual ao CSV", iguais);
+
+        // volta() recomeça do primeiro registro
+        try (LeitorTrace t = LeitorTrace.abre(texto)) {
+            while (t.proximo()) { }
+            t.volta();
+            Teste.confere("volta", t.proximo() && t.chegada() == 0.5 && t.registros() == 1);
+        }
+
+        // um trace maior que a janela de leitura: linhas cortadas entre janelas são remapeadas
+        Path grande = Teste.temporario(".csv");
+        int linhas = (int) (LeitorTrace.JANELA / 10) + 100_000;
+        try (java.io.Writer w = Files.newBufferedWriter(grande)) {
+            w.write("t\n");
+            for (int i = 0; i < linhas; i++) {
+                w.write(Integer.toString(1_000_000_000 + i), 1, 9);  // 9 dígitos com zeros à esquerda
+                w.write('\n');
+            }
+        }
+        long contados = 0;
+        boolean emOrdem = true;
+        try (LeitorTrace t = LeitorTrace.abre(grande)) {
+            while (t.proximo()) emOrdem &= t.chegada() == contados++;
+        }
+        Teste.confere("trace maior que a janela", emOrdem && contados == linhas);
+
+        erro("linha não numérica depois dos dados", "t\n1\nxx\n2\n", "linha 3");
+        erro("colunas diferentes", "1,2\n3\n", "linha 2");
+        erro("mais de 3 colunas", "1,2,3,4\n", "linha 1");
+        erro("chegada fora de ordem", "2\n1\n", "antes da anterior");
+        erro("número inválido", "1,2\n1,2x\n", "linha 2");
+        Teste.lanca("binário sem cabeçalho", java.io.IOException.class, "TRC1",
+                    () -> LeitorTrace.abre(escreve(".bin", "abcdefgh")).close());
+
+        // Replay com orçamento: a chegada do trace não sorteia nada, nem o serviço quando o
+        // registro traz a demanda; a saída só sai do sistema. 1000 clientes que não esperam:
+        // sem demanda, só os 1000 serviços gastam o orçamento; com demanda, nada.
+        StringBuilder comServico = new StringBuilder(), semServico = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            comServico.append(i).append(",0.5\n");
+            semServico.append(i).append('\n');
+        }
+        replay("replay sem demanda", escreve(".csv", semServico.toString()), 1000, 1000);
+        replay("replay com demanda", escreve(".csv", comServico.toString()), 0, 0);
+
+        Teste.fim("ConfereLeitorTrace");
+    }
+
+    private static Path escreve(String sufixo, String conteudo) throws Exception {
+        Path p = Teste.temporario(sufixo);
+        Files.write(p, conteudo.getBytes(StandardCharsets.UTF_8));
+        return p;
+    }
+
+    private static List<double[]> le(Path arquivo) throws Exception {
+        List<double[]> registros = new ArrayList<>();
+        try (LeitorTrace t = LeitorTrace.abre(arquivo)) {
+            while (t.proximo()) registros.add(new double[]{t.chegada(), t.servico(), t.fila()});
+        }
+        return registros;
+    }
+
+    private static void replay(String nome, Path arquivo, long orcamento, long usados) throws Exception {
+        SimuladorRede sim = new SimuladorRede(5.0, 10.0, List.of(new double[]{0, 1, 0.4, 0.6}), new double[][]{{0}},
+                                              0.0, orcamento);
+        try (LeitorTrace t = LeitorTrace.abre(arquivo)) {
+            sim.defineTrace(t, 1.0);
+            sim.executar();
+        }
+        Teste.igual(nome + ": eventos", sim.getEventos(), 2000L);
+        Teste.igual(nome + ": aleatórios", sim.getUsados(), usados);
+    }
+
+    private static void erro(String nome, String csv, String trecho) {
+        Teste.lanca(nome, java.io.IOException.class, trecho, () -> le(escreve(".csv", csv)));
+    }
+}
@@ -0,0 +1,65 @@
+import java.io.*;
+
+// Confere o SimulacaoLindley contra o SimulacaoFila3. Com a mesma semente os dois consomem
+// os sorteios em outra ordem, então a comparação é da distribuição: em cada configuração,
+// a média em SEMENTES sementes da fração do tempo em cada estado, das perdas por unidade
+// de tempo e do tempo total tem que ficar dentro das tolerâncias abaixo, que são cerca de
+// 4 vezes o desvio padrão da diferença entre as médias (medido com o SimulacaoFila3).
+public class ConfereLindley {
+
+    private static final long[] SEMENTES = {1, 2, 3, 4, 5, 6, 7, 8};
+    private static final long EVENTOS = 1000000;
+    private static final double TOLERANCIA_ESTADO = 0.0025;  // fração do tempo, absoluta
+    private static final double TOLERANCIA_PERDAS = 0.01;    // relativa
+    private static final double TOLERANCIA_TEMPO = 0.0007;   // relativa
+
+    public static void main(String[] args) {
+        // capacidade, servidores, chegadaMin, chegadaMax, saidaMin, saidaMax, inicio
+        confere("G/G/1/5 do M4", new double[]{5, 1, 2.0, 5.0, 3.0, 5.0, 2.0});
+        confere("G/G/2/4", new double[]{4, 2, 1.0, 3.0, 3.0, 6.0, 0.0});
+        confere("G/G/3/10", new double[]{10, 3, 1.0, 2.0, 3.0, 7.0, 1.0});
+        Teste.fim("ConfereLindley");
+    }
+
+    private static void confere(String nome, double[] p) {
+        int capacidade = (int) p[0];
+        double[] fila3 = new double[capacidade + 3];
+        double[] lindley = new double[capacidade + 3];
+        PrintStream saida = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (long semente : SEMENTES) {
+                SimulacaoFila3 f = new SimulacaoFila3(capacidade, (int) p[1], p[2], p[3], p[4], p[5], p[6], EVENTOS);
+                f.setSeed(semente);
+                f.simular();
+                soma(fila3, f.getTempos(), f.getPerdas(), f.getTempo());
+                SimulacaoLindley l = new SimulacaoLindley(capacidade, (int) p[1], p[2], p[3], p[4], p[5], p[6],
+                                                          EVENTOS);
+                l.setSeed(semente);
+                l.simular();
+                soma(lindley, l.getTempos(), l.getPerdas(), l.getTempo());
+            }
+        } finally {
+            System.setOut(saida);
+        }
+
+        for (int i = 0; i <= capacidade; i++) {
+            Teste.perto(nome + ": tempo no estado " + i, lindley[i], fila3[i], TOLERANCIA_ESTADO);
+        }
+        double perdas = fila3[capacidade + 1];
+        Teste.perto(nome + ": perdas por unidade de tempo", lindley[capacidade + 1], perdas,
+                    TOLERANCIA_PERDAS * perdas);
+        double tempo = fila3[capacidade + 2];
+        Teste.perto(nome + ": tempo total", lindley[capacidade + 2], tempo, TOLERANCIA_TEMPO * tempo);
+    }
+
+    // Acumula a média: fração do tempo em cada estado, perdas por unidade de tempo, tempo total.
+    private static void soma(double[] media, double[] tempos, int perdas, double tempo) {
+        int n = SEMENTES.length;
+        for (int i = 0; i < tempos.length; i++) {
+            media[i] += tempos[i] / tempo / n;
+        }
+        media[tempos.length] += perdas / tempo / n;
+        media[tempos.length + 1] += tempo / n;
+    }
+}
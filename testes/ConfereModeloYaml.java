@@ -0,0 +1,80 @@
+import java.io.*;
+
+// Leitura dos model.yml do simulator.jar: um modelo completo e os erros, que têm que dizer
+// a linha e sair como IllegalArgumentException (o App só trata essa).
+public class ConfereModeloYaml {
+
+    private static final String MODELO = String.join("\n",
+        "# comentário",
+        "!PARAMETERS",
+        "arrivals:",
+        "   Q1: 2.0",
+        "queues:",
+        "   Q1:",
+        "      servers: 2",
+        "      capacity: 4",
+        "      minArrival: 1.0",
+        "      maxArrival: 3.0",
+        "      minService: 2.0",
+        "      maxService: 6.0",
+        "   Q2:",
+        "      servers: 1",
+        "      minService: 1.0",
+        "      maxService: 2.0",
+        "network:",
+        "-  source: Q1",
+        "   target: Q2",
+        "   probability: 0.7   # o resto sai",
+        "rndnumbersPerSeed: 500",
+        "seeds:",
+        "- 1",
+        "- 2",
+        "- 3",
+        "");
+
+    public static void main(String[] args) throws Exception {
+        ModeloYaml m = carrega(MODELO);
+        Teste.igual("filas", m.filas.keySet().toString(), "[Q1, Q2]");
+        Teste.igual("primeira chegada", m.chegadas.get("Q1"), 2.0);
+        ModeloYaml.FilaModelo q1 = m.filas.get("Q1");
+        Teste.igual("servidores", q1.servidores, 2);
+        Teste.igual("capacidade", q1.capacidade, 4);
+        Teste.igual("chegadas", q1.minChegada + ".." + q1.maxChegada, "1.0..3.0");
+        Teste.igual("serviço", q1.minServico + ".." + q1.maxServico, "2.0..6.0");
+        Teste.igual("capacidade infinita", m.filas.get("Q2").capacidade, 0);
+        Teste.igual("rndnumbersPerSeed", m.rndnumbersPerSeed, 500L);
+        Teste.igual("seeds", java.util.Arrays.toString(m.seeds), "[1, 2, 3]");
+        Roteamento r = m.roteamento();
+        Teste.igual("Q1 sorteia o destino", r.sorteios(0), 1);
+        Teste.igual("Q2 só sai", r.destinoUnico(1), Roteamento.SAIDA_SISTEMA);
+        SimuladorRede sim = m.criaSimulador(1);
+        sim.executar();
+        Teste.confere("orçamento por semente", sim.getUsados() <= 500 && sim.getUsados() >= 497);
+
+        erro("propriedade desconhecida", troca("servers: 2", "servidores: 2"), "linha 7");
+        erro("número inválido", troca("maxService: 6.0", "maxService: seis"), "linha 12");
+        erro("sem ':'", troca("   Q1: 2.0", "   Q1 2.0"), "linha 4");
+        erro("fila repetida", troca("   Q2:", "   Q1:"), "linha 13");
+        erro("aresta incompleta", troca("   target: Q2\n", ""), "aresta 1");
+        erro("destino inexistente", troca("target: Q2", "target: Q9"), "Q9");
+        erro("probabilidades acima de 1", troca("probability: 0.7", "probability: 1.5"), "(> 1)");
+        erro("seção desconhecida", "filas:\n  Q1:\n", "linha 2");
+        erro("sem filas", "arrivals:\n", "sem filas");
+
+        Teste.fim("ConfereModeloYaml");
+    }
+
+    private static ModeloYaml carrega(String texto) throws IOException {
+        return ModeloYaml.carrega(new BufferedReader(new StringReader(texto)));
+    }
+
+    private static String troca(String de, String para) {
+        if (!MODELO.contains(de)) throw new IllegalStateException("modelo de teste sem '" + de + "'");
+        return MODELO.replace(de, para);
+    }
+
+    // O erro pode sair na leitura ou só ao montar o roteamento.
+    private static void erro(String nome, String texto, String trecho) {
+        Teste.lanca(nome, IllegalArgumentException.class, trecho, () -> carrega(texto).roteamento());
+    }
+}
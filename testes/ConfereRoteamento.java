@@ -0,0 +1,77 @@
+// Tabelas de alias do Roteamento: a probabilidade de cada destino, calculada das colunas,
+// tem que ser a da matriz; a frequência sorteada, perto dela; a forma esparsa, igual à densa.
+public class ConfereRoteamento {
+
+    public static void main(String[] args) throws Exception {
+        double[][] matriz = {
+            {0.10, 0.20, 0.30, 0.00},   // 0.40 sai
+            {0.00, 0.00, 0.00, 1.00},   // um destino certo
+            {0.25, 0.25, 0.25, 0.25},
+            {0.00, 0.00, 0.00, 0.00}    // só sai
+        };
+        Roteamento r = new Roteamento(matriz);
+
+        for (int o = 0; o < matriz.length; o++) {
+            double[] exata = exata(r.tabela(o), matriz.length);
+            for (int d = 0; d <= matriz.length; d++) {
+                Teste.perto("origem " + o + " destino " + d + " (tabela)", exata[d], esperada(matriz[o], d), 1e-12);
+            }
+        }
+
+        int n = 2_000_000;
+        FonteLcg48 fonte = new FonteLcg48(7);
+        for (int o = 0; o < matriz.length; o++) {
+            double[] freq = new double[matriz.length + 1];
+            for (int k = 0; k < n; k++) freq[indice(r.destino(o, fonte.proximo()), matriz.length)]++;
+            for (int d = 0; d <= matriz.length; d++) {
+                double p = esperada(matriz[o], d);
+                // 5 desvios-padrão da proporção
+                Teste.perto("origem " + o + " destino " + d + " (sorteio)", freq[d] / n, p, 5 * Math.sqrt(p * (1 - p) / n) + 1e-12);
+            }
+        }
+
+        Roteamento esparso = new Roteamento(4, new int[]{0, 0, 0, 1, 2, 2, 2, 2, 0},
+                                               new int[]{0, 1, 2, 3, 0, 1, 2, 3, 1},
+                                               new double[]{0.10, 0.10, 0.30, 1.00, 0.25, 0.25, 0.25, 0.25, 0.10});
+        for (int o = 0; o < matriz.length; o++) {
+            double[] exata = exata(esparso.tabela(o), matriz.length);
+            for (int d = 0; d <= matriz.length; d++) {
+                Teste.perto("esparso origem " + o + " destino " + d, exata[d], esperada(matriz[o], d), 1e-12);
+            }
+        }
+
+        Teste.igual("sorteios com vários destinos", r.sorteios(0), 1);
+        Teste.igual("sorteios com destino certo", r.sorteios(1), 0);
+        Teste.igual("destino certo", r.destinoUnico(1), 3);
+        Teste.igual("sorteios só com saída", r.sorteios(3), 0);
+        Teste.igual("só saída", r.destinoUnico(3), Roteamento.SAIDA_SISTEMA);
+
+        Teste.lanca("linha somando mais que 1", IllegalArgumentException.class, "fila 1",
+                    () -> new Roteamento(new double[][]{{0.6, 0.5}, {0, 0}}));
+
+        Teste.fim("ConfereRoteamento");
+    }
+
+    // Probabilidade de cada destino pela tabela: coluna i escolhida com 1/n, fica com ela
+    // com 'corte', senão vai para o alias. Índice matriz.length = saída do sistema.
+    private static double[] exata(Roteamento.Tabela t, int filas) {
+        int n = t.destinos.length;
+        double[] p = new double[filas + 1];
+        for (int i = 0; i < n; i++) {
+            p[indice(t.destinos[i], filas)] += t.corte[i] / n;
+            p[indice(t.alias[i], filas)] += (1.0 - t.corte[i]) / n;
+        }
+        return p;
+    }
+
+    private static double esperada(double[] linha, int d) {
+        if (d < linha.length) return linha[d];
+        double soma = 0.0;
+        for (double p : linha) soma += p;
+        return 1.0 - soma;
+    }
+
+    private static int indice(int destino, int filas) {
+        return destino == Roteamento.SAIDA_SISTEMA ? filas : destino;
+    }
+}
@@ -0,0 +1,38 @@
+import java.nio.file.*;
+
+// Confere o SimuladorRede e o motor compilado contra os relatórios do simulator.jar:
+// para cada model.yml, a média do tempo simulado nas sementes do modelo tem que ficar
+// perto do "Simulation average time" do jar. Os geradores são diferentes, então a
+// comparação é com tolerância; um sorteio a mais ou a menos por cliente muda o tempo
+// total em dezenas de por cento e não passa.
+public class ConfereSimulatorJar {
+
+    private static final double TOLERANCIA = 0.01;
+
+    public static void main(String[] args) throws Exception {
+        Path raiz = Path.of(args.length > 0 ? args[0] : ".");
+        // modelo, tempo médio do relatório do jar
+        confere(raiz.resolve("M4/model.yml"), 186695.0673);            // M4/M4 test.txt
+        confere(raiz.resolve("T2/simulator/antes.yml"), 199093.7586);  // T2/antes.txt
+        confere(raiz.resolve("T2/simulator/depois.yml"), 212087.2719); // T2/depois.txt
+        Teste.fim("ConfereSimulatorJar");
+    }
+
+    private static void confere(Path arquivo, double referencia) throws Exception {
+        ModeloYaml modelo = ModeloYaml.carrega(arquivo);
+        CompiladorModelo compilador = modelo.compilador();
+        double interpretado = 0.0, compilado = 0.0;
+        for (long semente : modelo.seeds) {
+            SimuladorRede sim = modelo.criaSimulador(semente);
+            sim.executar();
+            interpretado += sim.getTempo();
+            MotorRede motor = compilador.novoMotor(new FonteLcg48(semente), modelo.rndnumbersPerSeed);
+            motor.executar();
+            compilado += motor.getTempo();
+        }
+        interpretado /= modelo.seeds.length;
+        compilado /= modelo.seeds.length;
+        Teste.perto(arquivo.getFileName() + " (SimuladorRede)", interpretado, referencia, TOLERANCIA * referencia);
+        Teste.perto(arquivo.getFileName() + " (compilado)", compilado, referencia, TOLERANCIA * referencia);
+    }
+}
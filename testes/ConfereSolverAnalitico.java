@@ -0,0 +1,55 @@
+import java.util.*;
+
+// SolverAnalitico contra fórmulas fechadas: M/M/1/K, M/M/c (Erlang C) e uma rede de Jackson
+// em série com realimentação (taxas das equações de tráfego, cada fila um M/M/1).
+public class ConfereSolverAnalitico {
+
+    public static void main(String[] args) {
+        // M/M/1/K: lambda = 0.5, E[S] = 1.6 (rho = 0.8), K = 5
+        double lambda = 0.5, rho = 0.8;
+        int k = 5;
+        SolverAnalitico s = SolverAnalitico.comTaxa(lambda, 0, List.of(new double[]{k, 1, 1.2, 2.0}),
+                                                    new double[][]{{0}}).resolve();
+        double normal = (1 - rho) / (1 - Math.pow(rho, k + 1));
+        double l = 0.0;
+        for (int n = 0; n <= k; n++) {
+            double p = normal * Math.pow(rho, n);
+            Teste.perto("M/M/1/5 p" + n, s.probabilidades(0)[n], p, 1e-12);
+            l += n * p;
+        }
+        double pk = normal * Math.pow(rho, k);
+        Teste.perto("M/M/1/5 população", s.populacaoMedia(0), l, 1e-12);
+        Teste.perto("M/M/1/5 vazão", s.vazao(0), lambda * (1 - pk), 1e-12);
+        Teste.perto("M/M/1/5 perdas", s.taxaPerdas(0), lambda * pk, 1e-12);
+        Teste.perto("M/M/1/5 utilização", s.utilizacao(0), 1 - normal, 1e-12);
+        Teste.perto("M/M/1/5 resposta (Little)", s.tempoResposta(0), l / (lambda * (1 - pk)), 1e-12);
+
+        // M/M/2 infinita: lambda = 1.5, E[S] = 1 (a = 1.5, rho = 0.75)
+        SolverAnalitico c = SolverAnalitico.comTaxa(1.5, 0, List.of(new double[]{0, 2, 0.5, 1.5}),
+                                                    new double[][]{{0}}).resolve();
+        double a = 1.5, r = 0.75;
+        double p0 = 1.0 / (1 + a + a * a / 2 / (1 - r));
+        double lq = p0 * a * a / 2 * r / ((1 - r) * (1 - r));
+        Teste.perto("M/M/2 p0", c.probabilidades(0)[0], p0, 1e-12);
+        Teste.perto("M/M/2 população", c.populacaoMedia(0), lq + a, 1e-12);
+        Teste.perto("M/M/2 resposta", c.tempoResposta(0), (lq + a) / 1.5, 1e-12);
+        Teste.confere("M/M/2 estável", !c.instavel(0));
+        Teste.confere("rho >= 1 instável", SolverAnalitico.comTaxa(2.5, 0, List.of(new double[]{0, 2, 0.5, 1.5}),
+                                                                    new double[][]{{0}}).resolve().instavel(0));
+
+        // Jackson: 1 -> 2, 2 -> 1 com 0.5; chegada 0.2 na fila 1: lambda1 = lambda2 = 0.4
+        SolverAnalitico j = SolverAnalitico.comTaxa(0.2, 0,
+                                                    List.of(new double[]{0, 1, 1.0, 1.0}, new double[]{0, 1, 2.0, 2.0}),
+                                                    new double[][]{{0, 1}, {0.5, 0}}).resolve();
+        Teste.perto("Jackson vazão 1", j.vazao(0), 0.4, 1e-12);
+        Teste.perto("Jackson vazão 2", j.vazao(1), 0.4, 1e-12);
+        Teste.perto("Jackson população 1", j.populacaoMedia(0), 0.4 / 0.6, 1e-12);
+        Teste.perto("Jackson população 2", j.populacaoMedia(1), 0.8 / 0.2, 1e-12);
+
+        Teste.lanca("rede fechada", IllegalArgumentException.class, "rede fechada",
+                    () -> SolverAnalitico.comTaxa(0.2, 0, List.of(new double[]{0, 1, 1, 1}, new double[]{0, 1, 1, 1}),
+                                                  new double[][]{{0, 1}, {1, 0}}).resolve());
+
+        Teste.fim("ConfereSolverAnalitico");
+    }
+}
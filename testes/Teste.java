@@ -0,0 +1,60 @@
+import java.nio.file.*;
+
+// Conferências mínimas para os simuladores (sem dependências, roda com o JDK puro), no
+// espírito do benchmarks/Benchmark: cada Confere* é um programa que chama as funções
+// abaixo e termina com fim(), que sai com código 1 se alguma conferência falhou.
+public class Teste {
+
+    private static int conferencias = 0;
+    private static int falhas = 0;
+
+    interface Acao {
+        void executa() throws Exception;
+    }
+
+    static boolean confere(String nome, boolean ok) {
+        conferencias++;
+        if (!ok) {
+            falhas++;
+            System.out.println("FALHA  " + nome);
+        }
+        return ok;
+    }
+
+    // |obtido - esperado| <= tolerancia (absoluta).
+    static boolean perto(String nome, double obtido, double esperado, double tolerancia) {
+        boolean ok = Math.abs(obtido - esperado) <= tolerancia;
+        if (!ok) nome += String.format(": %.10g, esperado %.10g (tolerância %.3g)", obtido, esperado, tolerancia);
+        return confere(nome, ok);
+    }
+
+    static boolean igual(String nome, Object obtido, Object esperado) {
+        boolean ok = obtido == null ? esperado == null : obtido.equals(esperado);
+        if (!ok) nome += ": " + obtido + ", esperado " + esperado;
+        return confere(nome, ok);
+    }
+
+    // A ação tem que lançar 'tipo' (ou subclasse) com 'trecho' na mensagem.
+    static boolean lanca(String nome, Class<? extends Throwable> tipo, String trecho, Acao acao) {
+        try {
+            acao.executa();
+            return confere(nome + ": não lançou " + tipo.getSimpleName(), false);
+        } catch (Throwable t) {
+            boolean ok = tipo.isInstance(t) && (t.getMessage() != null && t.getMessage().contains(trecho));
+            if (!ok) nome += ": lançou " + t;
+            return confere(nome, ok);
+        }
+    }
+
+    static Path temporario(String sufixo) throws Exception {
+        Path p = Files.createTempFile("teste", sufixo);
+        p.toFile().deleteOnExit();
+        return p;
+    }
+
+    static void fim(String classe) {
+        System.out.println((falhas == 0 ? "ok     " : "FALHOU ") + classe + ": "
+                           + (conferencias - falhas) + "/" + conferencias + " conferências");
+        if (falhas > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,33 @@
+#!/bin/sh
+# Compila cada programa junto com as conferências (como em benchmarks/executa.sh, cada
+# diretório é um programa separado no pacote padrão) e executa todas.
+#
+#   ./testes/executa.sh            # todas
+#   ./testes/executa.sh t2         # só as do simulador do T2
+#   ./testes/executa.sh m4         # só as do M4 (SimulacaoLindley x SimulacaoFila3)
+set -e
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+TESTES="$RAIZ/testes"
+SAIDA="${SAIDA:-$RAIZ/testes/out}"
+GRUPOS="${*:-t2 m4}"
+
+executa() {
+    nome=$1; classes=$2; shift 2
+    rm -rf "$SAIDA/$nome"; mkdir -p "$SAIDA/$nome"
+    fontes=""
+    for c in $classes; do fontes="$fontes $TESTES/$c.java"; done
+    javac -encoding UTF-8 -Xlint:all -Werror -d "$SAIDA/$nome" "$TESTES/Teste.java" $fontes "$@"
+    for c in $classes; do
+        java -Dfile.encoding=UTF-8 $JAVA_OPTS -cp "$SAIDA/$nome" "$c" "$RAIZ"
+    done
+}
+
+for g in $GRUPOS; do
+    case $g in
+        t2) executa t2 "ConfereRoteamento ConfereHistograma ConfereModeloYaml ConfereLeitorTrace \
+                        ConfereEscritorResultados ConfereSolverAnalitico ConfereFontes ConfereCheckpoint ConfereSimulatorJar" \
+                    "$RAIZ/T2/nosso simulador/"*.java ;;
+        m4) executa m4 "ConfereLindley" "$RAIZ/M4/SimulacaoFila3.java" "$RAIZ/M4/SimulacaoLindley.java" ;;
+        *) echo "grupo desconhecido: $g (use t2, m4)"; exit 1 ;;
+    esac
+done